@@ -0,0 +1,143 @@
+package com.ryan.docu.benchmark;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.enums.FileType;
+import com.ryan.docu.model.enums.Format;
+import com.ryan.docu.service.generators.PdfCompression;
+import com.ryan.docu.service.generators.PdfGeneratorService;
+import com.ryan.docu.service.generators.cache.HeaderTemplateCache;
+import com.ryan.docu.service.generators.executor.RenderMemoryBudget;
+import com.ryan.docu.service.generators.cache.PageFragmentCache;
+import com.ryan.docu.service.generators.cache.ParagraphLayoutCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of {@link PdfGeneratorService#generatePDF} across formats, body sizes and citation counts.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; the GC profiler is enabled by default to report
+ * allocation rate. With {@code warmCaches=false} the layout and page caches are disabled, so every invocation
+ * measures a full cold render.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfGenerationBenchmark {
+
+    private static final String[] WORDS = {
+        "the", "analysis", "of", "primary", "sources", "suggests", "that", "historical", "context", "shapes",
+        "interpretation", "and", "students", "should", "consider", "multiple", "perspectives", "when", "writing",
+        "research", "papers", "about", "literature", "society", "evidence", "argument", "thesis", "conclusion"
+    };
+
+    @Param({"MLA", "APA"})
+    private Format format;
+
+    @Param({"1", "10", "50", "200"})
+    private int paragraphs;
+
+    @Param({"0", "10", "50"})
+    private int citations;
+
+    @Param({"false", "true"})
+    private boolean warmCaches;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private PdfGeneratorService pdfGeneratorService;
+    private DocumentCreateDTO document;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PdfCompression pdfCompression = new PdfCompression(compact, 1000, 0, meterRegistry);
+        RenderMemoryBudget memoryBudget = new RenderMemoryBudget(8 * 1024 * 1024, 128 * 1024 * 1024, "", meterRegistry);
+        pdfGeneratorService = warmCaches
+                ? new PdfGeneratorService(
+                        new ParagraphLayoutCache(10000),
+                        new PageFragmentCache(16 * 1024 * 1024),
+                        new HeaderTemplateCache(1000),
+                        pdfCompression,
+                        memoryBudget,
+                        meterRegistry)
+                : new PdfGeneratorService(
+                        new ParagraphLayoutCache(0),
+                        new PageFragmentCache(0),
+                        new HeaderTemplateCache(0),
+                        pdfCompression,
+                        memoryBudget,
+                        meterRegistry);
+
+        Random random = new Random(42);
+        document = new DocumentCreateDTO();
+        document.setTitle("The Influence of Context on Interpretation");
+        document.setName("Jordan Example");
+        document.setProfessorName("Professor Sample");
+        document.setClassTitle("English 101");
+        document.setInstituteName("Example University");
+        document.setDate("1 September 2025");
+        document.setFormat(format);
+        document.setFileType(FileType.PDF);
+        document.setBodyText(buildBody(random));
+        document.setCitations(buildCitations(random));
+    }
+
+    @Benchmark
+    public byte[] generatePdf() throws IOException {
+        return pdfGeneratorService.generatePDF(document);
+    }
+
+    private String buildBody(Random random) {
+        StringBuilder body = new StringBuilder();
+        for (int p = 0; p < paragraphs; p++) {
+            int sentences = 4 + random.nextInt(5);
+            for (int s = 0; s < sentences; s++) {
+                body.append(sentence(random)).append(' ');
+            }
+            body.append('\n');
+        }
+        return body.toString();
+    }
+
+    private List<String> buildCitations(Random random) {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < citations; i++) {
+            list.add("Author, A. (" + (1990 + random.nextInt(35)) + "). " + sentence(random) + " Journal of Examples, "
+                    + random.nextInt(100) + "(" + random.nextInt(12) + "), " + random.nextInt(300) + "-"
+                    + (300 + random.nextInt(300)) + ".");
+        }
+        return list;
+    }
+
+    private String sentence(Random random) {
+        int length = 8 + random.nextInt(15);
+        StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < length; w++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (w == 0) {
+                word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+            }
+            sentence.append(word).append(w == length - 1 ? "." : " ");
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ryan.docu.config;
+
+import com.ryan.docu.model.converter.DeflateTextConverter;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves data left in the layouts documents used to be stored in into the current ones. Runs once every bean is
+ * created, before the web server accepts requests, and does nothing when the old layout is already gone, so it is
+ * safe to run on every start.
+ */
+@Component
+public class LegacyDocumentMigration implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeflateTextConverter textConverter = new DeflateTextConverter();
+    private final int batchSize;
+
+    public LegacyDocumentMigration(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${docu.migration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrateCitations();
+        migrateBodies();
+    }
+
+    /**
+     * Citations used to be an element collection in document_citations(doc_id, citation) without an order column.
+     * They are copied into the document.citations array in physical row order, the closest the old table kept
+     * to the order they were added in, and the old table is dropped in the same transaction.
+     */
+    void migrateCitations() {
+        if (!tableExists("document_citations")) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("alter table document add column if not exists citations text[]");
+            jdbcTemplate.update("""
+                    update document d set citations = c.citations
+                    from (select doc_id, array_agg(citation order by ctid) as citations
+                          from document_citations
+                          where citation is not null
+                          group by doc_id) c
+                    where d.doc_id = c.doc_id and (d.citations is null or cardinality(d.citations) = 0)
+                    """);
+            jdbcTemplate.execute("drop table document_citations");
+        });
+    }
+
+    /**
+     * Bodies used to be stored uncompressed in document.body_text. Each one is compressed the way
+     * {@link DeflateTextConverter} stores it into a new document_body row and linked through document.body_id,
+     * {@code docu.migration.batch-size} documents per transaction so a large table is never held in one. The old
+     * column is dropped once every body has moved, so an interrupted backfill carries on at the next start.
+     */
+    void migrateBodies() {
+        if (!columnExists("document", "body_text")) {
+            return;
+        }
+        jdbcTemplate.execute("create table if not exists document_body (body_id uuid primary key, text bytea)");
+        jdbcTemplate.execute(
+                "alter table document add column if not exists body_id uuid unique references document_body");
+
+        // Rows that already have a body only lose the stale copy
+        jdbcTemplate.update("update document set body_text = null where body_text is not null and body_id is not null");
+
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> moveBodies());
+        } while (moved == batchSize);
+        jdbcTemplate.execute("alter table document drop column body_text");
+    }
+
+    private int moveBodies() {
+        List<Object[]> bodies = new ArrayList<>(batchSize);
+        List<Object[]> links = new ArrayList<>(batchSize);
+        jdbcTemplate.query(
+                "select doc_id, body_text from document where body_text is not null limit ? for update",
+                row -> {
+                    UUID bodyId = UUID.randomUUID();
+                    bodies.add(new Object[] {bodyId, textConverter.convertToDatabaseColumn(row.getString("body_text"))});
+                    links.add(new Object[] {bodyId, row.getObject("doc_id", UUID.class)});
+                },
+                batchSize);
+        jdbcTemplate.batchUpdate("insert into document_body (body_id, text) values (?, ?)", bodies);
+        jdbcTemplate.batchUpdate("update document set body_id = ?, body_text = null where doc_id = ?", links);
+        return links.size();
+    }
+
+    private boolean columnExists(String table, String column) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "select exists (select 1 from information_schema.columns"
+                        + " where table_schema = current_schema() and table_name = ? and column_name = ?)",
+                Boolean.class, table, column);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "select exists (select 1 from information_schema.tables"
+                        + " where table_schema = current_schema() and table_name = ?)",
+                Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+}
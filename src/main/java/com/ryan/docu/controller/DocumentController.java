@@ -2,16 +2,32 @@ package com.ryan.docu.controller;
 
 import com.ryan.docu.model.dto.DocumentCreateDTO;
 import com.ryan.docu.model.dto.DocumentDTO;
+import com.ryan.docu.model.dto.DocumentImportResultDTO;
 import com.ryan.docu.model.dto.DocumentListDTO;
+import com.ryan.docu.model.dto.DocumentListPageDTO;
+import com.ryan.docu.service.DocumentExportService;
+import com.ryan.docu.service.DocumentImportService;
 import com.ryan.docu.service.DocumentService;
+import com.ryan.docu.service.generators.RenderedDocument;
+import com.ryan.docu.util.AuthenticationUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -19,10 +35,18 @@ import java.util.UUID;
 @RequestMapping("/api/document")
 public class DocumentController {
 
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final DocumentService documentService;
+    private final DocumentExportService documentExportService;
+    private final DocumentImportService documentImportService;
+    private final AuthenticationUtil authUtil;
 
     /**
-     * Generates a PDF document based on the provided data and returns it as a byte array in the response.
+     * Generates a PDF or DOCX document based on the provided data and returns it as a byte array in the response.
      * @param userId
      * @param document
      * @return
@@ -35,8 +59,9 @@ public class DocumentController {
 
         HttpHeaders headers = new HttpHeaders();
 
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("attachment", getFileName(document) + ".pdf");
+        headers.setContentType(MediaType.parseMediaType(document.getFileType().getMediaType()));
+        headers.setContentDispositionFormData(
+                "attachment", getFileName(document) + "." + document.getFileType().getExtension());
         headers.setContentLength(documentBytes.length);
 
         return ResponseEntity.ok().headers(headers).body(documentBytes);
@@ -44,21 +69,125 @@ public class DocumentController {
 
     /**
      * Loads a previously generated document for the user based on userId and docId.
+     * Renders kept in the on-disk store are sent straight from their file. Requests whose If-None-Match
+     * matches the document's version get 304 before the document is loaded or rendered.
      * @param userId
      * @param docId
+     * @param request
+     * @param webRequest
      * @return
      * @throws IOException
      */
     @GetMapping("/generate/{userId}/{docId}")
-    public ResponseEntity<byte[]> loadDocument(@PathVariable UUID userId, @PathVariable UUID docId) throws IOException {
-        byte[] documentBytes = documentService.loadDocument(userId, docId);
+    public ResponseEntity<?> loadDocument(
+            @PathVariable UUID userId, @PathVariable UUID docId, HttpServletRequest request, WebRequest webRequest)
+            throws IOException {
+        String eTag = documentService.getRenderETag(userId, docId);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        DocumentCreateDTO documentInfo = documentService.findRenderableDocument(userId, docId);
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("attachment", "document_" + docId + ".pdf");
-        headers.setContentLength(documentBytes.length);
+        headers.setETag(eTag);
+        headers.setContentType(MediaType.parseMediaType(documentInfo.getFileType().getMediaType()));
+        headers.setContentDispositionFormData(
+                "attachment", "document_" + docId + "." + documentInfo.getFileType().getExtension());
 
-        return ResponseEntity.ok().headers(headers).body(documentBytes);
+        Path stored = documentService.findStoredRender(docId, documentInfo);
+        if (stored != null) {
+            ResponseEntity<StreamingResponseBody> fileResponse = sendFile(stored, headers, request);
+            if (fileResponse != null) {
+                return fileResponse;
+            }
+        }
+
+        RenderedDocument document = documentService.loadDocument(docId, documentInfo);
+        headers.setContentLength(document.content().length);
+        return ResponseEntity.ok().headers(headers).body(document.content());
+    }
+
+    /**
+     * Saves the document and streams the generated file straight into the response instead of
+     * buffering it, intended for large documents.
+     * @param userId
+     * @param document
+     * @return
+     */
+    @PostMapping("/generate/{userId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamGeneratedDocument(
+            @PathVariable UUID userId, @RequestBody DocumentCreateDTO document) {
+        DocumentDTO savedDocument = documentService.createDocument(userId, document);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(document.getFileType().getMediaType()));
+        headers.setContentDispositionFormData(
+                "attachment", getFileName(document) + "." + document.getFileType().getExtension());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(outputStream ->
+                        documentService.writeDocument(savedDocument.getDocId(), document, outputStream));
+    }
+
+    /**
+     * Streams a previously generated document straight into the response instead of buffering it.
+     * @param userId
+     * @param docId
+     * @return
+     */
+    @GetMapping("/generate/{userId}/{docId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamDocument(@PathVariable UUID userId, @PathVariable UUID docId) {
+        DocumentCreateDTO documentInfo = documentService.findRenderableDocument(userId, docId);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(documentInfo.getFileType().getMediaType()));
+        headers.setContentDispositionFormData(
+                "attachment", "document_" + docId + "." + documentInfo.getFileType().getExtension());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(outputStream -> documentService.writeDocument(docId, documentInfo, outputStream));
+    }
+
+    /**
+     * Renders the user's documents in parallel and streams them back as a ZIP archive.
+     * Only the authenticated user can export their own documents, anyone else gets 403.
+     * @param userId
+     * @param docIds optional subset of documents to export, all of the user's documents when omitted
+     * @return
+     */
+    @GetMapping("/export/{userId}")
+    public ResponseEntity<StreamingResponseBody> exportDocuments(
+            @PathVariable UUID userId, @RequestParam(required = false) List<UUID> docIds) {
+        if (authUtil.isUserUnauthorized(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Map<UUID, DocumentCreateDTO> documents = documentService.findRenderableDocuments(userId, docIds);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", "documents.zip");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(outputStream -> documentExportService.exportDocuments(documents, outputStream));
+    }
+
+    /**
+     * Imports documents for the user from an NDJSON body, one document per line, without rendering them.
+     * @param userId
+     * @param request
+     * @return the number of imported and skipped documents
+     * @throws IOException
+     */
+    @PostMapping(value = "/import/{userId}", consumes = "application/x-ndjson")
+    public ResponseEntity<DocumentImportResultDTO> importDocuments(
+            @PathVariable UUID userId, HttpServletRequest request) throws IOException {
+        if (authUtil.isUserUnauthorized(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(documentImportService.importDocuments(userId, request.getInputStream()));
     }
 
     @PostMapping("/{userId}")
@@ -67,9 +196,19 @@ public class DocumentController {
         return ResponseEntity.ok(documentService.createDocument(userId, document));
     }
 
+    /**
+     * Returns the document, or 304 when the If-None-Match header matches its version.
+     * @param docId
+     * @param webRequest
+     * @return
+     */
     @GetMapping("/{docId}")
-    public ResponseEntity<DocumentDTO> getDocument(@PathVariable UUID docId) {
-        return ResponseEntity.ok(documentService.getDocument(docId));
+    public ResponseEntity<DocumentDTO> getDocument(@PathVariable UUID docId, WebRequest webRequest) {
+        String eTag = documentService.getDocumentETag(docId);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(documentService.getDocument(docId));
     }
 
     @GetMapping("/user/{userId}")
@@ -77,12 +216,63 @@ public class DocumentController {
         return ResponseEntity.ok(documentService.getDocumentList(userId));
     }
 
+    /**
+     * Lists the user's documents a page at a time, newest first. Pass the nextCursor of a page to get the one after it.
+     * @param userId
+     * @param size
+     * @param cursor
+     * @return
+     */
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<DocumentListPageDTO> getDocumentPage(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(documentService.getDocumentListPage(userId, size, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{docId}")
     public ResponseEntity<UUID> deleteDocument(@PathVariable UUID docId) {
         documentService.deleteDocument(docId);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Serves a stored file without reading it into memory. Where the connector supports sendfile the file is
+     * handed to it and sent by the kernel, otherwise it is transferred from its file channel.
+     * Returns null if the file was evicted before it could be served.
+     */
+    private ResponseEntity<StreamingResponseBody> sendFile(Path file, HttpHeaders headers, HttpServletRequest request) {
+        long length;
+        try {
+            length = Files.size(file);
+        } catch (IOException e) {
+            return null;
+        }
+        headers.setContentLength(length);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+
+        return ResponseEntity.ok().headers(headers).body(outputStream -> {
+            try (FileChannel channel = FileChannel.open(file)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long position = 0;
+                while (position < length) {
+                    position += channel.transferTo(position, length - position, target);
+                }
+            }
+        });
+    }
+
     /**
      * Helper method to generate filename from document data
      */
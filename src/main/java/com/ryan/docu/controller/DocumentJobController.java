@@ -0,0 +1,60 @@
+package com.ryan.docu.controller;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.dto.DocumentJobDTO;
+import com.ryan.docu.service.DocumentJobService;
+import com.ryan.docu.service.generators.RenderedDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/document/jobs")
+public class DocumentJobController {
+
+    private final DocumentJobService documentJobService;
+
+    /**
+     * Saves the document and queues its generation, returning the job right away instead of waiting for the render.
+     * @param userId
+     * @param document
+     * @return
+     */
+    @PostMapping("/{userId}")
+    public ResponseEntity<DocumentJobDTO> submitJob(@PathVariable UUID userId, @RequestBody DocumentCreateDTO document) {
+        return ResponseEntity.accepted().body(documentJobService.submitGenerateJob(userId, document));
+    }
+
+    @GetMapping("/{userId}/{jobId}")
+    public ResponseEntity<DocumentJobDTO> getJob(@PathVariable UUID userId, @PathVariable UUID jobId) {
+        return ResponseEntity.ok(documentJobService.getJob(userId, jobId));
+    }
+
+    /**
+     * Downloads the generated document once the job has completed. Answers 202 with no body while it is still
+     * running, 409 with the failure reason if the render failed and 410 if the result was already dropped.
+     * @param userId
+     * @param jobId
+     * @return
+     */
+    @GetMapping("/{userId}/{jobId}/result")
+    public ResponseEntity<byte[]> getJobResult(@PathVariable UUID userId, @PathVariable UUID jobId) {
+        RenderedDocument document = documentJobService.getJobResult(userId, jobId);
+        if (document == null) {
+            return ResponseEntity.accepted().build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(document.fileType().getMediaType()));
+        headers.setContentDispositionFormData(
+                "attachment", "document_" + jobId + "." + document.fileType().getExtension());
+        headers.setContentLength(document.content().length);
+
+        return ResponseEntity.ok().headers(headers).body(document.content());
+    }
+}
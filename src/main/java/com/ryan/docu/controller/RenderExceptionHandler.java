@@ -0,0 +1,40 @@
+package com.ryan.docu.controller;
+
+import com.ryan.docu.service.DocumentJobExpiredException;
+import com.ryan.docu.service.DocumentJobFailedException;
+import com.ryan.docu.service.generators.executor.RenderRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class RenderExceptionHandler {
+
+    /**
+     * Answers renders turned away by a full render queue with 503 and a Retry-After hint.
+     */
+    @ExceptionHandler(RenderRejectedException.class)
+    public ResponseEntity<Void> handleRenderRejected(RenderRejectedException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(exception.getRetryAfterSeconds()))
+                .build();
+    }
+
+    /**
+     * Answers result downloads of failed jobs with 409 and the reason the render failed.
+     */
+    @ExceptionHandler(DocumentJobFailedException.class)
+    public ResponseEntity<String> handleJobFailed(DocumentJobFailedException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+    }
+
+    /**
+     * Answers result downloads of jobs whose result was already dropped with 410.
+     */
+    @ExceptionHandler(DocumentJobExpiredException.class)
+    public ResponseEntity<String> handleJobExpired(DocumentJobExpiredException exception) {
+        return ResponseEntity.status(HttpStatus.GONE).body(exception.getMessage());
+    }
+}
@@ -5,6 +5,7 @@ import com.ryan.docu.model.dto.DocumentCreateDTO;
 import com.ryan.docu.model.dto.DocumentDTO;
 import com.ryan.docu.model.dto.DocumentListDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface DocumentMapper {
@@ -13,6 +14,8 @@ public interface DocumentMapper {
 
     Document fromCreateDTO(DocumentCreateDTO documentCreateDTO);
 
+    // Rows saved before citations were stored inline have no citations array
+    @Mapping(target = "citations", defaultExpression = "java(new java.util.ArrayList<>())")
     DocumentCreateDTO toCreateDTO(Document document);
 
     DocumentListDTO toListDTO(Document document);
@@ -3,8 +3,15 @@ package com.ryan.docu.model;
 import com.ryan.docu.model.enums.FileType;
 import com.ryan.docu.model.enums.Format;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -13,12 +20,16 @@ import java.util.UUID;
 
 @Data
 @Entity
+@Table(indexes = @Index(name = "idx_document_user_created", columnList = "user_id, timeCreated, docId"))
 public class Document {
 
     @Id
     @UuidGenerator
     private UUID docId;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
@@ -28,8 +39,14 @@ public class Document {
     private String instituteName;
     private String date;
 
-    @Column(columnDefinition = "TEXT")
-    private String bodyText;
+    // Loaded only when the body text is read, through getBodyText
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "body_id")
+    private DocumentBody body;
 
     private Instant timeCreated;
 
@@ -39,17 +56,45 @@ public class Document {
     @Enumerated(EnumType.STRING)
     private FileType fileType;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "document_citations", joinColumns = @JoinColumn(name = "doc_id"))
-    @Column(name = "citation")
+    // Stored inline as a text[] column so citations come back with the document row
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "citations", columnDefinition = "text[]")
     private List<String> citations = new ArrayList<>();
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User relatedUser;
 
+    public void setCitations(List<String> citations) {
+        this.citations = citations != null ? citations : new ArrayList<>();
+    }
+
+    public String getBodyText() {
+        return body != null ? body.getText() : null;
+    }
+
+    /**
+     * Replaces the body rather than updating it in place. The new body row changes body_id on the document,
+     * which makes the document itself dirty, so its version (and with it the document's ETags) moves on
+     * whenever the body text changes.
+     */
+    public void setBodyText(String bodyText) {
+        if (bodyText == null) {
+            body = null;
+            return;
+        }
+        if (body != null && bodyText.equals(body.getText())) {
+            return;
+        }
+        body = new DocumentBody();
+        body.setText(bodyText);
+    }
+
     @PrePersist
     public void prePersist() {
         timeCreated = Instant.now();
+        if (citations == null) {
+            citations = new ArrayList<>();
+        }
     }
 }
@@ -0,0 +1,24 @@
+package com.ryan.docu.model;
+
+import com.ryan.docu.model.converter.DeflateTextConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+/**
+ * The body text of a document, kept in its own table and compressed so the document row stays small.
+ */
+@Data
+@Entity
+public class DocumentBody {
+
+    @Id
+    @UuidGenerator
+    private UUID bodyId;
+
+    @Convert(converter = DeflateTextConverter.class)
+    @Column(columnDefinition = "bytea")
+    private String text;
+}
@@ -2,7 +2,9 @@ package com.ryan.docu.model.dto;
 
 import com.ryan.docu.model.enums.FileType;
 import com.ryan.docu.model.enums.Format;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.util.ArrayList;
@@ -10,13 +12,28 @@ import java.util.List;
 
 @Data
 public class DocumentCreateDTO {
+    // Sizes match the varchar(255) columns on document
+    @NotBlank
+    @Size(max = 255)
     private String title;
+
+    @Size(max = 255)
     private String name;
+
+    @Size(max = 255)
     private String professorName;
+
+    @Size(max = 255)
     private String classTitle;
+
+    @Size(max = 255)
     private String instituteName;
+
     private String bodyText;
+
+    @Size(max = 255)
     private String date;
+
     private List<String> citations = new ArrayList<>();
 
     @NotNull
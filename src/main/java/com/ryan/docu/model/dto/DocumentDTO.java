@@ -13,4 +13,5 @@ public class DocumentDTO {
     private String date;
     private Format format;
     private FileType fileType;
+    private Long version;
 }
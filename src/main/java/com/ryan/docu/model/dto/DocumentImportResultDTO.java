@@ -0,0 +1,16 @@
+package com.ryan.docu.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentImportResultDTO {
+    private int imported;
+    private int skipped;
+    private List<String> errors;
+}
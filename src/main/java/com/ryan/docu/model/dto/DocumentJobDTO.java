@@ -0,0 +1,18 @@
+package com.ryan.docu.model.dto;
+
+import com.ryan.docu.model.enums.JobStatus;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+public class DocumentJobDTO {
+    private UUID jobId;
+    private UUID docId;
+    private JobStatus status;
+    private Instant submittedAt;
+    private Instant completedAt;
+    private Instant expiresAt;
+    private String failureReason;
+}
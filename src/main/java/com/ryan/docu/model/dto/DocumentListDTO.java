@@ -1,14 +1,20 @@
 package com.ryan.docu.model.dto;
 
 import com.ryan.docu.model.enums.Format;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class DocumentListDTO {
     private UUID docId;
     private String title;
     private String date;
     private Format format;
+    private Instant timeCreated;
 }
@@ -0,0 +1,15 @@
+package com.ryan.docu.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentListPageDTO {
+    private List<DocumentListDTO> documents;
+    private String nextCursor;
+}
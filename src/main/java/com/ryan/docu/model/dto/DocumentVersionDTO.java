@@ -0,0 +1,19 @@
+package com.ryan.docu.model.dto;
+
+import com.ryan.docu.model.enums.FileType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentVersionDTO {
+    private UUID docId;
+    private Long version;
+    private UUID userId;
+    private String date;
+    private FileType fileType;
+}
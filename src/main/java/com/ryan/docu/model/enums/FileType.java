@@ -1,6 +1,17 @@
 package com.ryan.docu.model.enums;
 
+import lombok.Getter;
+
+@Getter
 public enum FileType {
-    PDF,
-    DOCX
+    PDF("application/pdf", "pdf"),
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document", "docx");
+
+    private final String mediaType;
+    private final String extension;
+
+    FileType(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
 }
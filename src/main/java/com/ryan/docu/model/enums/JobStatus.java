@@ -0,0 +1,10 @@
+package com.ryan.docu.model.enums;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    // Completed, but the result was dropped to make room for newer ones
+    EXPIRED
+}
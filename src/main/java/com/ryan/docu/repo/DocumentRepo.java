@@ -2,13 +2,120 @@ package com.ryan.docu.repo;
 
 import com.ryan.docu.model.Document;
 import com.ryan.docu.model.User;
+import com.ryan.docu.model.dto.DocumentListDTO;
+import com.ryan.docu.model.dto.DocumentVersionDTO;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface DocumentRepo extends JpaRepository<Document, UUID> {
     List<Document> findByRelatedUser(User user);
+
+    /**
+     * The list columns of all the user's documents, newest first.
+     */
+    @Query("""
+            select new com.ryan.docu.model.dto.DocumentListDTO(d.docId, d.title, d.date, d.format, d.timeCreated)
+            from Document d
+            where d.relatedUser.userId = :userId
+            order by d.timeCreated desc, d.docId desc""")
+    List<DocumentListDTO> findListByUserId(@Param("userId") UUID userId);
+
+    /**
+     * The first page of the user's documents, newest first.
+     */
+    @Query("""
+            select new com.ryan.docu.model.dto.DocumentListDTO(d.docId, d.title, d.date, d.format, d.timeCreated)
+            from Document d
+            where d.relatedUser.userId = :userId
+            order by d.timeCreated desc, d.docId desc""")
+    List<DocumentListDTO> findListPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * The page of the user's documents following the given (timeCreated, docId) position, newest first.
+     */
+    @Query("""
+            select new com.ryan.docu.model.dto.DocumentListDTO(d.docId, d.title, d.date, d.format, d.timeCreated)
+            from Document d
+            where d.relatedUser.userId = :userId
+              and (d.timeCreated < :timeCreated or (d.timeCreated = :timeCreated and d.docId < :docId))
+            order by d.timeCreated desc, d.docId desc""")
+    List<DocumentListDTO> findListPageByUserIdAfter(
+            @Param("userId") UUID userId,
+            @Param("timeCreated") Instant timeCreated,
+            @Param("docId") UUID docId,
+            Pageable pageable);
+
+    /**
+     * A slice of the user's documents with their bodies, oldest first, for rendering.
+     */
+    @Query("""
+            select d from Document d
+            left join fetch d.body
+            where d.relatedUser.userId = :userId
+            order by d.timeCreated, d.docId""")
+    Slice<Document> findRenderableByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * A slice of the given documents of the user with their bodies, oldest first, for rendering.
+     */
+    @Query("""
+            select d from Document d
+            left join fetch d.body
+            where d.relatedUser.userId = :userId and d.docId in :docIds
+            order by d.timeCreated, d.docId""")
+    Slice<Document> findRenderableByUserIdAndDocIds(
+            @Param("userId") UUID userId, @Param("docIds") List<UUID> docIds, Pageable pageable);
+
+    /**
+     * The version, owner and render-relevant fields of a document, enough to answer a conditional request.
+     */
+    @Query("""
+            select new com.ryan.docu.model.dto.DocumentVersionDTO(
+                d.docId, d.version, d.relatedUser.userId, d.date, d.fileType)
+            from Document d
+            where d.docId = :docId""")
+    Optional<DocumentVersionDTO> findVersionById(@Param("docId") UUID docId);
+
+    /**
+     * The IDs of all the user's documents.
+     */
+    @Query("select d.docId from Document d where d.relatedUser.userId = :userId")
+    List<UUID> findIdsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Deletes the document and its body in one statement if the document belongs to the user.
+     * Both deletes see the same snapshot and the foreign key is checked once the statement ends.
+     * Returns the number of deleted documents, 0 if the user has no such document.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            with bodies as (
+                delete from document_body where body_id in (
+                    select body_id from document where doc_id = :docId and user_id = :userId))
+            delete from document where doc_id = :docId and user_id = :userId""", nativeQuery = true)
+    int deleteOwnedDocument(@Param("docId") UUID docId, @Param("userId") UUID userId);
+
+    /**
+     * Deletes all of the user's documents and their bodies in one statement. Returns the number of deleted documents.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            with bodies as (
+                delete from document_body where body_id in (select body_id from document where user_id = :userId))
+            delete from document where user_id = :userId""", nativeQuery = true)
+    int deleteAllByUserId(@Param("userId") UUID userId);
 }
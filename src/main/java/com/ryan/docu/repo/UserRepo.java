@@ -2,10 +2,20 @@ package com.ryan.docu.repo;
 
 import com.ryan.docu.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
 public interface UserRepo extends JpaRepository<User, UUID> {
+
+    /**
+     * Deletes the user row without loading it or cascading through its documents.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
 }
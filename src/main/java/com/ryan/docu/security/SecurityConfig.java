@@ -1,8 +1,10 @@
 package com.ryan.docu.security;
 
 import com.ryan.docu.security.service.AccountAuthenticationService;
+import com.ryan.docu.security.service.PooledPasswordEncoder;
 import com.ryan.docu.security.tokens.JwtFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,7 +16,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -29,17 +30,24 @@ import java.util.Arrays;
 public class SecurityConfig {
     private final AccountAuthenticationService userDetailsService;
     private final JwtFilter jwtFilter;
+    private final PooledPasswordEncoder passwordEncoder;
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(new BCryptPasswordEncoder(12));
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
+    /**
+     * Only the health endpoint is public. Metrics and Prometheus scrapes are served on the management port,
+     * which application.properties binds to the loopback interface, and are allowed only there.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http, @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable) // Disable CSRF for simplicity
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(request -> request.requestMatchers(HttpMethod.POST, "/api/account")
@@ -48,6 +56,11 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/account/logout")
                         .permitAll() // Allow logout
+                        .requestMatchers(HttpMethod.GET, "/actuator/health")
+                        .permitAll()
+                        .requestMatchers(actuator -> actuator.getLocalPort() == managementPort
+                                && actuator.getRequestURI().startsWith("/actuator/"))
+                        .permitAll() // Internal scrapes on the management port
                         .anyRequest()
                         .authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -55,6 +55,8 @@ public class AccountController {
 
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(HttpServletResponse response) {
+        accountService.logout();
+
         // Clear the access token cookie
         Cookie accessCookie = new Cookie("accessToken", null);
         accessCookie.setHttpOnly(true);
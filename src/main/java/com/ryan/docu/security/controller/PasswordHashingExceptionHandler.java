@@ -0,0 +1,22 @@
+package com.ryan.docu.security.controller;
+
+import com.ryan.docu.security.service.PasswordHashingRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class PasswordHashingExceptionHandler {
+
+    /**
+     * Answers logins and sign-ups turned away by a saturated hashing pool with 503 and a Retry-After hint.
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Void> handleHashingRejected(PasswordHashingRejectedException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @RequiredArgsConstructor
 public class UserPrincipal implements UserDetails {
@@ -26,4 +27,8 @@ public class UserPrincipal implements UserDetails {
     public String getUsername() {
         return account.getUsername();
     }
+
+    public UUID getUserId() {
+        return account.getUser() != null ? account.getUser().getUserId() : null;
+    }
 }
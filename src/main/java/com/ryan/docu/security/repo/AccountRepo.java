@@ -2,6 +2,9 @@ package com.ryan.docu.security.repo;
 
 import com.ryan.docu.security.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
@@ -9,4 +12,11 @@ import java.util.UUID;
 @Repository
 public interface AccountRepo extends JpaRepository<Account, UUID> {
     Account findAccountByUsername(String username);
+
+    /**
+     * Deletes the account of the user without loading it.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Account a where a.user.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
 }
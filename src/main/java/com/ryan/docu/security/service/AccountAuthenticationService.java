@@ -5,15 +5,17 @@ import com.ryan.docu.security.model.UserPrincipal;
 import com.ryan.docu.security.repo.AccountRepo;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class AccountAuthenticationService implements UserDetailsService {
+public class AccountAuthenticationService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AccountRepo accountRepo;
+    private final UserPrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -23,4 +25,19 @@ public class AccountAuthenticationService implements UserDetailsService {
         }
         return new UserPrincipal(account);
     }
+
+    /**
+     * Stores a password rehashed at login because its hash used a different BCrypt cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Account account = accountRepo.findAccountByUsername(user.getUsername());
+        if (account == null) {
+            throw new UsernameNotFoundException("ERROR: Account with username '" + user.getUsername() + "' not found.");
+        }
+        account.setPassword(newPassword);
+        Account savedAccount = accountRepo.save(account);
+        principalCache.invalidate(savedAccount.getUsername());
+        return new UserPrincipal(savedAccount);
+    }
 }
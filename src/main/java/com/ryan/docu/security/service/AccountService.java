@@ -15,8 +15,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
@@ -28,23 +31,43 @@ public class AccountService {
     private final AuthenticationUtil authUtil;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final UserPrincipalCache principalCache;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
-    private BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(12);
-
+    /**
+     * Hashes the password before opening the transaction that saves the account, so no connection is held
+     * while hashing.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public AccountDTO createAccount(AccountCreateDTO account) {
         var newAccount = accountMapper.toEntity(account);
-        newAccount.setPassword(bCryptPasswordEncoder.encode(newAccount.getPassword()));
-        var newUser = userService.createUser(account.getUser());
-        newAccount.setUser(newUser);
-        return accountMapper.toDTO(accountRepo.save(newAccount));
+        newAccount.setPassword(passwordEncoder.encode(newAccount.getPassword()));
+        return transactionTemplate.execute(status -> {
+            var newUser = userService.createUser(account.getUser());
+            newAccount.setUser(newUser);
+            principalCache.invalidate(newAccount.getUsername());
+            return accountMapper.toDTO(accountRepo.save(newAccount));
+        });
     }
 
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public String login(AccountLoginRequestDTO request) {
         Authentication auth = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
         return auth.isAuthenticated() ? jwtService.generateToken(request.getUsername()) : "Login failed";
     }
 
+    /**
+     * Forgets the cached principal of the account logging out, if the request is authenticated.
+     */
+    public void logout() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserDetails userDetails) {
+            principalCache.invalidate(userDetails.getUsername());
+        }
+    }
+
     public AccountDTO getAccount() {
         var account = authUtil.getAuthenticatedAccount();
         if (account == null) {
@@ -0,0 +1,11 @@
+package com.ryan.docu.security.service;
+
+/**
+ * Thrown when the password hashing pool is saturated and cannot take another hash.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
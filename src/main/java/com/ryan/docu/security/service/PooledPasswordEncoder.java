@@ -0,0 +1,140 @@
+package com.ryan.docu.security.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password hashing on a dedicated, bounded pool ({@code docu.security.bcrypt.pool-size} threads,
+ * {@code docu.security.bcrypt.queue-capacity} waiting hashes), so hashing storms cannot take over request threads.
+ * The cost is {@code docu.security.bcrypt.strength}, or when that is 0, the highest cost whose hash takes at most
+ * {@code docu.security.bcrypt.target-millis} on this host, measured once at startup. Either way it is never less
+ * than 12. The cost in use is published as {@code docu.security.bcrypt.strength}; deployments with several instances
+ * should pin it through the property, since hashes with any other cost are reported for upgrade and rehashed on the
+ * next successful login.
+ */
+@Component
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private static final int MIN_STRENGTH = 12;
+    private static final int CALIBRATION_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public PooledPasswordEncoder(
+            @Value("${docu.security.bcrypt.strength:0}") int strength,
+            @Value("${docu.security.bcrypt.target-millis:250}") long targetMillis,
+            @Value("${docu.security.bcrypt.pool-size:0}") int poolSize,
+            @Value("${docu.security.bcrypt.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int configured = strength > 0 ? strength : calibrate(targetMillis);
+        this.strength = Math.max(MIN_STRENGTH, Math.min(configured, MAX_STRENGTH));
+        this.delegate = new BCryptPasswordEncoder(this.strength);
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "docu-bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("docu.security.bcrypt.strength", this, PooledPasswordEncoder::getStrength)
+                .description("BCrypt cost used for new password hashes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finds the highest cost whose hash fits the target. Each cost step doubles the work, so one hash measured at a
+     * cheap cost is enough to estimate the others.
+     */
+    static int calibrate(long targetMillis) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        encoder.encode("calibration"); // warm up
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        int calibrated = CALIBRATION_STRENGTH;
+        while (calibrated < MAX_STRENGTH && millis * 2 <= targetMillis) {
+            millis *= 2;
+            calibrated++;
+        }
+        return calibrated;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException("Too many password checks in progress, try again shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ryan.docu.security.service;
+
+import com.ryan.docu.security.model.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Recently resolved principals by username, so authenticated requests do not look up the account every time.
+ * Entries live for {@code docu.security.principal-cache.ttl-seconds} and at most
+ * {@code docu.security.principal-cache.max-entries} are kept. Entries are dropped when their account changes or
+ * logs out.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UserPrincipalCache(
+            @Value("${docu.security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${docu.security.principal-cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hitCounter = Counter.builder("docu.security.principal.cache")
+                .description("Principal lookups by cache result")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("docu.security.principal.cache")
+                .description("Principal lookups by cache result")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached principal for the username, or the one the loader resolves, which is then cached.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry entry = entries.get(username);
+            if (entry != null && entry.expiresAt > now) {
+                hitCounter.increment();
+                return entry.principal;
+            }
+            entries.remove(username);
+        }
+
+        missCounter.increment();
+        UserDetails principal = loader.apply(username);
+        UUID userId = principal instanceof UserPrincipal userPrincipal ? userPrincipal.getUserId() : null;
+        synchronized (this) {
+            entries.put(username, new Entry(principal, userId, now + ttlMillis));
+        }
+        return principal;
+    }
+
+    public synchronized void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    /**
+     * Drops the principal of the account belonging to the user.
+     */
+    public synchronized void invalidateUser(UUID userId) {
+        entries.values().removeIf(entry -> Objects.equals(entry.userId, userId));
+    }
+
+    private record Entry(UserDetails principal, UUID userId, long expiresAt) {}
+}
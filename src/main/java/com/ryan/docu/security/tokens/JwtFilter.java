@@ -1,6 +1,7 @@
 package com.ryan.docu.security.tokens;
 
 import com.ryan.docu.security.service.AccountAuthenticationService;
+import com.ryan.docu.security.service.UserPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -23,13 +24,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final ApplicationContext context;
+    private final UserPrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String token = null;
-        String username = null;
 
         // First, try to get token from cookie
         Cookie[] cookies = request.getCookies();
@@ -37,7 +38,6 @@ public class JwtFilter extends OncePerRequestFilter {
             for (Cookie cookie : cookies) {
                 if ("accessToken".equals(cookie.getName())) {
                     token = cookie.getValue();
-                    username = jwtService.extractUsername(token);
                     break;
                 }
             }
@@ -48,16 +48,19 @@ public class JwtFilter extends OncePerRequestFilter {
             String authHeader = request.getHeader("Authorization");
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 token = authHeader.substring(7);
-                username = jwtService.extractUsername(token);
             }
         }
 
+        // Verify the token once, the result carries everything checked below
+        VerifiedToken verifiedToken = token != null ? jwtService.verifyToken(token) : null;
+        String username = verifiedToken != null ? verifiedToken.username() : null;
+
         // Authenticate if we have a username and no existing authentication
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails =
-                    context.getBean(AccountAuthenticationService.class).loadUserByUsername(username);
+            UserDetails userDetails = principalCache.get(
+                    username, name -> context.getBean(AccountAuthenticationService.class).loadUserByUsername(name));
 
-            if (jwtService.validateToken(token, userDetails)) {
+            if (jwtService.validateToken(verifiedToken, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,29 +1,46 @@
 package com.ryan.docu.security.tokens;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Function;
 
+/**
+ * Issues and verifies access tokens. The signing key and the parser are built once. Verified tokens are kept
+ * until they expire in a small cache ({@code docu.security.jwt.verified-cache-size} tokens, 0 to disable), so a
+ * client repeating the same token skips the signature check.
+ */
 @Service
 public class JwtService {
 
-    private final String secretKey;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final int verifiedCacheSize;
+    private final LinkedHashMap<String, VerifiedToken> verifiedTokens;
 
-    public JwtService() {
-        this.secretKey = generateSecretKey();
+    public JwtService(@Value("${docu.security.jwt.verified-cache-size:1024}") int verifiedCacheSize) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(generateSecretKey()));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        };
     }
 
     public String generateToken(String username) {
@@ -33,15 +50,10 @@ public class JwtService {
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
-                .signWith(getKey(secretKey))
+                .signWith(key)
                 .compact();
     }
 
-    private Key getKey(String secretKey) {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     private String generateSecretKey() {
         try {
             KeyGenerator keyGenerator = KeyGenerator.getInstance("HmacSHA256");
@@ -52,34 +64,43 @@ public class JwtService {
         }
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    /**
+     * Checks the token's signature and expiry, parsing it at most once.
+     *
+     * @param token    The compact token
+     * @return         The verified claims
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (verifiedCacheSize > 0) {
+            synchronized (verifiedTokens) {
+                VerifiedToken cached = verifiedTokens.get(token);
+                if (cached != null && !cached.isExpired()) {
+                    return cached;
+                }
+                verifiedTokens.remove(token);
+            }
+        }
 
-    @SuppressWarnings("deprecation")
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getKey(secretKey))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration());
+        if (verifiedCacheSize > 0) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(token, verified);
+            }
+        }
+        return verified;
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public String extractUsername(String token) {
+        return verifyToken(token).username();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.username().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(verifyToken(token), userDetails);
     }
 }
@@ -0,0 +1,16 @@
+package com.ryan.docu.security.tokens;
+
+import java.util.Date;
+
+/**
+ * The claims of a token whose signature has been checked.
+ *
+ * @param username     The token's subject
+ * @param expiration   When the token expires
+ */
+public record VerifiedToken(String username, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
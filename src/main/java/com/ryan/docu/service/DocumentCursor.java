@@ -0,0 +1,40 @@
+package com.ryan.docu.service;
+
+import com.ryan.docu.model.dto.DocumentListDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes the position of a document in a user's list as an opaque, URL-safe page cursor.
+ * The position is the document's creation time followed by its ID, which breaks ties between equal times.
+ */
+final class DocumentCursor {
+
+    private DocumentCursor() {}
+
+    static String encode(DocumentListDTO last) {
+        String position = last.getTimeCreated() + "|" + last.getDocId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return a document holding only the time created and ID of the position
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    static DocumentListDTO decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            DocumentListDTO document = new DocumentListDTO();
+            document.setTimeCreated(Instant.parse(position.substring(0, separator)));
+            document.setDocId(UUID.fromString(position.substring(separator + 1)));
+            return document;
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ryan.docu.service;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.service.generators.executor.RenderRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports many documents at once as a ZIP archive. Documents render in parallel on the render pool and each one
+ * is written into the archive as soon as it finishes, so the archive is never buffered as a whole.
+ * At most {@code docu.render.export.parallelism} renders of one export are in flight at a time.
+ */
+@Service
+public class DocumentExportService {
+
+    private final DocumentService documentService;
+    private final int parallelism;
+
+    public DocumentExportService(
+            DocumentService documentService, @Value("${docu.render.export.parallelism:0}") int parallelism) {
+        this.documentService = documentService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Renders the documents and streams them into a ZIP archive written to the given stream.
+     *
+     * @param documents      Render inputs keyed by document ID, from {@link DocumentService#findRenderableDocuments}
+     * @param outputStream   The stream to write the archive to, usually the HTTP response body
+     */
+    public void exportDocuments(Map<UUID, DocumentCreateDTO> documents, OutputStream outputStream) throws IOException {
+        BlockingQueue<RenderedEntry> finished = new LinkedBlockingQueue<>();
+        Iterator<Map.Entry<UUID, DocumentCreateDTO>> pending = documents.entrySet().iterator();
+        Set<String> entryNames = new HashSet<>();
+        int inFlight = 0;
+
+        try (ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+            // PDF and DOCX output is already compressed, so only spend the cheapest deflate level on it
+            zip.setLevel(Deflater.BEST_SPEED);
+
+            Map.Entry<UUID, DocumentCreateDTO> next = pending.hasNext() ? pending.next() : null;
+            while (next != null || inFlight > 0) {
+                if (next != null && inFlight < parallelism) {
+                    try {
+                        submit(next.getKey(), next.getValue(), finished);
+                        inFlight++;
+                        next = pending.hasNext() ? pending.next() : null;
+                        continue;
+                    } catch (RenderRejectedException e) {
+                        // The render pool is saturated, wait for one of our own renders before retrying
+                        if (inFlight == 0) {
+                            throw e;
+                        }
+                    }
+                }
+
+                RenderedEntry entry = take(finished);
+                inFlight--;
+                if (entry.error() != null) {
+                    throw new IOException("Rendering document " + entry.docId() + " failed", entry.error());
+                }
+                if (entry.content() != null) {
+                    zip.putNextEntry(new ZipEntry(entryName(entry.docId(), entry.document(), entryNames)));
+                    zip.write(entry.content());
+                    zip.closeEntry();
+                }
+            }
+        }
+    }
+
+    private void submit(UUID docId, DocumentCreateDTO document, BlockingQueue<RenderedEntry> finished) {
+        documentService
+                .submitRender(docId, document, () -> {})
+                .whenComplete((content, error) -> finished.add(new RenderedEntry(docId, document, content, error)));
+    }
+
+    private RenderedEntry take(BlockingQueue<RenderedEntry> finished) throws IOException {
+        try {
+            return finished.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for export renders");
+        }
+    }
+
+    /**
+     * Builds a unique archive entry name from the document title.
+     */
+    private String entryName(UUID docId, DocumentCreateDTO document, Set<String> usedNames) {
+        String baseName = "Document";
+        if (document.getTitle() != null && !document.getTitle().trim().isEmpty()) {
+            String cleaned = document.getTitle()
+                    .replaceAll("[^a-zA-Z0-9\\s]", "")
+                    .replaceAll("\\s+", "_")
+                    .trim();
+            baseName = cleaned.isEmpty() ? "Document" : cleaned;
+        }
+        String extension = "." + document.getFileType().getExtension();
+        String name = baseName + extension;
+        if (!usedNames.add(name)) {
+            name = baseName + "_" + docId + extension;
+            usedNames.add(name);
+        }
+        return name;
+    }
+
+    private record RenderedEntry(UUID docId, DocumentCreateDTO document, byte[] content, Throwable error) {}
+}
@@ -0,0 +1,171 @@
+package com.ryan.docu.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ryan.docu.mapper.DocumentMapper;
+import com.ryan.docu.model.Document;
+import com.ryan.docu.model.User;
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.dto.DocumentImportResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk import of documents from NDJSON, one {@link DocumentCreateDTO} per line. Lines are parsed as they arrive
+ * and saved in batches of {@code docu.import.batch-size}, each batch in its own transaction so the persistence
+ * context never grows with the import. Nothing is rendered. Lines that do not parse or validate are skipped and
+ * reported. A batch the database rejects is saved again row by row, so only the offending lines are skipped.
+ */
+@Service
+public class DocumentImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final DocumentMapper documentMapper;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader reader;
+    private final int batchSize;
+
+    public DocumentImportService(
+            DocumentMapper documentMapper,
+            UserService userService,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${docu.import.batch-size:500}") int batchSize) {
+        this.documentMapper = documentMapper;
+        this.userService = userService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.reader = objectMapper.readerFor(DocumentCreateDTO.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports every valid document in the stream for the user.
+     *
+     * @param userID   The user's unique ID
+     * @param input    NDJSON, one document per line
+     * @return         How many documents were imported and skipped, with the reasons for the first skipped lines
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public DocumentImportResultDTO importDocuments(UUID userID, InputStream input) throws IOException {
+        User user = transactionTemplate.execute(status -> userService.findEntityById(userID));
+        if (user == null) {
+            throw new EntityNotFoundException("User not found");
+        }
+
+        int imported = 0;
+        int skipped = 0;
+        List<String> errors = new ArrayList<>();
+        List<ImportLine> batch = new ArrayList<>(batchSize);
+
+        BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String error = null;
+            try {
+                DocumentCreateDTO document = reader.readValue(line);
+                Set<ConstraintViolation<DocumentCreateDTO>> violations = validator.validate(document);
+                if (violations.isEmpty()) {
+                    batch.add(new ImportLine(lineNumber, document));
+                } else {
+                    ConstraintViolation<DocumentCreateDTO> violation = violations.iterator().next();
+                    error = violation.getPropertyPath() + " " + violation.getMessage();
+                }
+            } catch (JsonProcessingException e) {
+                error = "invalid JSON: " + e.getOriginalMessage();
+            }
+            if (error != null) {
+                skipped++;
+                report(errors, lineNumber, error);
+            }
+
+            if (batch.size() >= batchSize) {
+                int saved = saveBatch(userID, batch, errors);
+                imported += saved;
+                skipped += batch.size() - saved;
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            int saved = saveBatch(userID, batch, errors);
+            imported += saved;
+            skipped += batch.size() - saved;
+        }
+        return new DocumentImportResultDTO(imported, skipped, errors);
+    }
+
+    /**
+     * Saves the batch in one transaction. If the database rejects it, each line is saved again in its own
+     * transaction and the lines that still fail are reported.
+     *
+     * @return How many documents of the batch were saved
+     */
+    private int saveBatch(UUID userID, List<ImportLine> batch, List<String> errors) {
+        try {
+            save(userID, batch);
+            return batch.size();
+        } catch (DataIntegrityViolationException e) {
+            int saved = 0;
+            for (ImportLine line : batch) {
+                try {
+                    save(userID, List.of(line));
+                    saved++;
+                } catch (DataIntegrityViolationException rowFailure) {
+                    report(errors, line.lineNumber(), "rejected by the database");
+                }
+            }
+            return saved;
+        }
+    }
+
+    // Constraint violations surface at commit, where the transaction manager translates them
+    private void save(UUID userID, List<ImportLine> lines) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = entityManager.getReference(User.class, userID);
+            for (ImportLine line : lines) {
+                Document document = documentMapper.fromCreateDTO(line.document());
+                document.setRelatedUser(user);
+                entityManager.persist(document);
+            }
+        });
+    }
+
+    private static void report(List<String> errors, int lineNumber, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("line " + lineNumber + ": " + error);
+        }
+    }
+
+    private record ImportLine(int lineNumber, DocumentCreateDTO document) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.ryan.docu.service;
+
+/**
+ * Thrown when the result of a document job is requested after it was dropped from memory.
+ */
+public class DocumentJobExpiredException extends RuntimeException {
+
+    public DocumentJobExpiredException(String message) {
+        super(message);
+    }
+}
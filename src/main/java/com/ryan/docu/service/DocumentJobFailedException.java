@@ -0,0 +1,11 @@
+package com.ryan.docu.service;
+
+/**
+ * Thrown when the result of a document job is requested but its render failed.
+ */
+public class DocumentJobFailedException extends RuntimeException {
+
+    public DocumentJobFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,228 @@
+package com.ryan.docu.service;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.dto.DocumentDTO;
+import com.ryan.docu.model.dto.DocumentJobDTO;
+import com.ryan.docu.model.enums.FileType;
+import com.ryan.docu.model.enums.JobStatus;
+import com.ryan.docu.service.generators.RenderedDocument;
+import com.ryan.docu.service.generators.executor.RenderRejectedException;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Document generation as background jobs. Submitting saves the document and queues its render, the client then
+ * polls the job and downloads the result once it is ready. Finished results are kept for
+ * {@code docu.render.jobs.ttl-seconds} after completion. At most {@code docu.render.jobs.max-jobs} jobs are tracked
+ * and their results take up at most {@code docu.render.jobs.max-result-bytes}; the oldest results are dropped early
+ * to stay within that budget, which leaves their jobs {@link JobStatus#EXPIRED}.
+ */
+@Service
+public class DocumentJobService {
+
+    private final DocumentService documentService;
+    private final Duration resultTtl;
+    private final int maxJobs;
+    private final long maxResultBytes;
+    private final long retryAfterSeconds;
+    private final Map<UUID, DocumentJob> jobs = new ConcurrentHashMap<>();
+    private long resultBytes;
+
+    public DocumentJobService(
+            DocumentService documentService,
+            @Value("${docu.render.jobs.ttl-seconds:600}") long resultTtlSeconds,
+            @Value("${docu.render.jobs.max-jobs:1000}") int maxJobs,
+            @Value("${docu.render.jobs.max-result-bytes:268435456}") long maxResultBytes,
+            @Value("${docu.render.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.documentService = documentService;
+        this.resultTtl = Duration.ofSeconds(resultTtlSeconds);
+        this.maxJobs = maxJobs;
+        this.maxResultBytes = maxResultBytes;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Saves the document for the user and queues its render. If the render queue turns the render away,
+     * the document stays saved and the job is returned as failed.
+     *
+     * @param userID     The user's unique ID
+     * @param document   The document to save and render
+     * @return           The queued job
+     * @throws RenderRejectedException if too many jobs are already tracked, before anything is saved
+     */
+    public DocumentJobDTO submitGenerateJob(UUID userID, DocumentCreateDTO document) {
+        purgeExpired();
+        if (jobs.size() >= maxJobs) {
+            throw new RenderRejectedException("Too many document jobs, try again later", retryAfterSeconds);
+        }
+        DocumentDTO savedDocument = documentService.createDocument(userID, document);
+        DocumentJob job =
+                new DocumentJob(UUID.randomUUID(), userID, savedDocument.getDocId(), document.getFileType());
+        jobs.put(job.jobId, job);
+
+        try {
+            documentService
+                    .submitRender(job.docId, document, () -> start(job))
+                    .whenComplete((documentBytes, error) -> finish(job, documentBytes, error));
+        } catch (RenderRejectedException e) {
+            finish(job, null, e);
+        }
+        synchronized (this) {
+            return job.toDTO();
+        }
+    }
+
+    public synchronized DocumentJobDTO getJob(UUID userID, UUID jobId) {
+        return findJob(userID, jobId).toDTO();
+    }
+
+    /**
+     * Returns the rendered document of a completed job, or null while the job is still queued or running.
+     * Status and result are read together under the lock that finishing and dropping results hold.
+     *
+     * @throws DocumentJobFailedException if the render failed
+     * @throws DocumentJobExpiredException if the result was dropped to make room for newer ones
+     */
+    public RenderedDocument getJobResult(UUID userID, UUID jobId) {
+        DocumentJob job = findJob(userID, jobId);
+        synchronized (this) {
+            return switch (job.status) {
+                case FAILED -> throw new DocumentJobFailedException(job.failureReason);
+                case EXPIRED -> throw new DocumentJobExpiredException(
+                        "The job's result is no longer available, download the document instead");
+                case COMPLETED -> new RenderedDocument(job.result, job.fileType);
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * Drops expired jobs in the background, so results do not outlive their TTL when nobody polls.
+     */
+    @Scheduled(fixedDelayString = "${docu.render.jobs.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> job.expiresAt != null && job.expiresAt.isBefore(now) && release(job));
+    }
+
+    private DocumentJob findJob(UUID userID, UUID jobId) {
+        purgeExpired();
+        DocumentJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userID)) {
+            throw new EntityNotFoundException("Job not found");
+        }
+        return job;
+    }
+
+    private synchronized void start(DocumentJob job) {
+        if (job.status == JobStatus.QUEUED) {
+            job.status = JobStatus.RUNNING;
+        }
+    }
+
+    /**
+     * Records the outcome of a job. If its result does not fit the budget, the results of the oldest completed jobs
+     * are dropped and those jobs are marked expired; the jobs themselves stay until their TTL runs out.
+     */
+    private synchronized void finish(DocumentJob job, byte[] documentBytes, Throwable error) {
+        if (error == null && documentBytes != null) {
+            if (documentBytes.length > maxResultBytes) {
+                job.fail("Document is too large to keep as a job result", resultTtl);
+                return;
+            }
+            while (resultBytes + documentBytes.length > maxResultBytes) {
+                DocumentJob oldest = jobs.values().stream()
+                        .filter(other -> other.result != null)
+                        .min(Comparator.comparing(other -> other.completedAt))
+                        .orElse(null);
+                if (oldest == null) {
+                    break;
+                }
+                release(oldest);
+            }
+            resultBytes += documentBytes.length;
+            job.complete(documentBytes, resultTtl);
+        } else {
+            job.fail(reasonOf(error), resultTtl);
+        }
+    }
+
+    /**
+     * Returns the job's result bytes to the budget and marks the job expired. Always true, so it can be used inside
+     * a removal predicate.
+     */
+    private synchronized boolean release(DocumentJob job) {
+        if (job.result != null) {
+            resultBytes -= job.result.length;
+            job.result = null;
+            job.status = JobStatus.EXPIRED;
+        }
+        return true;
+    }
+
+    private static String reasonOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause == null) {
+            return "Document generation failed";
+        } else if (cause instanceof RenderRejectedException) {
+            return "Render queue was full, generate the document again later";
+        }
+        return "Document generation failed: " + cause.getMessage();
+    }
+
+    private static class DocumentJob {
+        private final UUID jobId;
+        private final UUID userId;
+        private final UUID docId;
+        private final FileType fileType;
+        private final Instant submittedAt = Instant.now();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile byte[] result;
+        private volatile String failureReason;
+        private volatile Instant completedAt;
+        private volatile Instant expiresAt;
+
+        private DocumentJob(UUID jobId, UUID userId, UUID docId, FileType fileType) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.docId = docId;
+            this.fileType = fileType;
+        }
+
+        private void complete(byte[] documentBytes, Duration resultTtl) {
+            result = documentBytes;
+            completedAt = Instant.now();
+            expiresAt = completedAt.plus(resultTtl);
+            status = JobStatus.COMPLETED;
+        }
+
+        private void fail(String reason, Duration resultTtl) {
+            failureReason = reason;
+            completedAt = Instant.now();
+            expiresAt = completedAt.plus(resultTtl);
+            status = JobStatus.FAILED;
+        }
+
+        private DocumentJobDTO toDTO() {
+            DocumentJobDTO dto = new DocumentJobDTO();
+            dto.setJobId(jobId);
+            dto.setDocId(docId);
+            dto.setStatus(status);
+            dto.setSubmittedAt(submittedAt);
+            dto.setCompletedAt(completedAt);
+            dto.setExpiresAt(expiresAt);
+            dto.setFailureReason(failureReason);
+            return dto;
+        }
+    }
+}
@@ -6,48 +6,92 @@ import com.ryan.docu.model.User;
 import com.ryan.docu.model.dto.DocumentCreateDTO;
 import com.ryan.docu.model.dto.DocumentDTO;
 import com.ryan.docu.model.dto.DocumentListDTO;
+import com.ryan.docu.model.dto.DocumentListPageDTO;
+import com.ryan.docu.model.dto.DocumentVersionDTO;
 import com.ryan.docu.model.enums.FileType;
 import com.ryan.docu.repo.DocumentRepo;
+import com.ryan.docu.security.model.Account;
+import com.ryan.docu.service.generators.PdfCompression;
 import com.ryan.docu.service.generators.PdfGeneratorService;
+import com.ryan.docu.service.generators.RenderedDocument;
+import com.ryan.docu.service.generators.cache.RenderCache;
+import com.ryan.docu.service.generators.cache.RenderStore;
+import com.ryan.docu.service.generators.docx.DocxGeneratorService;
+import com.ryan.docu.service.generators.executor.RenderExecutor;
+import com.ryan.docu.util.AuthenticationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class DocumentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int RENDER_SLICE_SIZE = 100;
+
     private final DocumentRepo documentRepo;
     private final DocumentMapper documentMapper;
     private final UserService userService;
     private final PdfGeneratorService pdfGeneratorService;
+    private final DocxGeneratorService docxGeneratorService;
+    private final RenderCache renderCache;
+    private final RenderStore renderStore;
+    private final RenderExecutor renderExecutor;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthenticationUtil authUtil;
+    private final PdfCompression pdfCompression;
 
     /**
      * The main method of generation supported by helper methods provided in other service classes.
+     * Runs outside any transaction: the user lookup and the save each get a short transaction of their own and the
+     * render happens in between, so no pooled connection is held while rendering.
      *
      * @param userID        The user's unique ID
      * @param document      A parameter passed in by the user's input that carries information to be stored in our doc.
      * @return              Byte code that allows the user to download their document without taking up space in the DB.
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public byte[] generateDocument(UUID userID, DocumentCreateDTO document) throws IOException {
-        User user = userService.findEntityById(userID);
-        Document generatedDoc = documentMapper.fromCreateDTO(document);
-        generatedDoc.setRelatedUser(user);
-        byte[] documentBytes = null;
+        User user = inTransaction("find_user", () -> userService.findEntityById(userID));
         if (user != null) {
-            if (document.getFileType().equals(FileType.PDF)) {
-                documentBytes = pdfGeneratorService.generatePDF(document);
-            } else if (document.getFileType().equals(FileType.DOCX)) {
-                System.out.println("NOT READY YET: DOCX generation is not implemented.");
-            }
-            documentRepo.save(generatedDoc);
+            byte[] documentBytes = render(document);
+            // The user is attached again inside the save transaction, the one found above is detached by now
+            Document savedDoc = Timer.builder("docu.document.save")
+                    .description("Time spent saving generated documents")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(() -> inTransaction("save_document", () -> {
+                        Document generatedDoc = documentMapper.fromCreateDTO(document);
+                        generatedDoc.setRelatedUser(userService.findEntityById(userID));
+                        return documentRepo.save(generatedDoc);
+                    }));
+            keepRender(savedDoc.getDocId(), renderCache.keyOf(document), documentBytes);
             return documentBytes;
         } else {
             throw new IllegalArgumentException("User not found");
@@ -56,26 +100,70 @@ public class DocumentService {
 
     /**
      * This method loads a document for a user based on the user's ID and the document's ID.
-     * It retrieves the document from the repository, generates it in PDF format, and returns the byte array.
+     * It retrieves the document from the repository, generates it in its file type, and returns the bytes.
+     * Renders are cached by content in memory and on disk, so downloading an unchanged document again skips
+     * generation, also after a restart. Only the lookup runs in a transaction, the render runs after it commits.
+     *
+     * @param userID       The user's unique ID
+     * @param documentId   The document's unique ID
+     * @return             The rendered document, allowing the user to download it without taking up space in the DB.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public RenderedDocument loadDocument(UUID userID, UUID documentId) throws IOException {
+        return loadDocument(
+                documentId, inTransaction("load_document", () -> findRenderableDocument(userID, documentId)));
+    }
+
+    /**
+     * Loads the rendered bytes of a document whose render inputs were already looked up.
+     *
+     * @param documentId     The document's unique ID
+     * @param documentInfo   The document's render inputs
+     * @return               The rendered document
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public RenderedDocument loadDocument(UUID documentId, DocumentCreateDTO documentInfo) throws IOException {
+        String cacheKey = renderCache.keyOf(documentInfo);
+        byte[] documentBytes = renderCache.get(cacheKey);
+        if (documentBytes == null) {
+            documentBytes = readStored(documentId, cacheKey);
+            if (documentBytes != null) {
+                renderCache.put(documentId, cacheKey, documentBytes);
+            } else {
+                documentBytes = render(documentInfo);
+                keepRender(documentId, cacheKey, documentBytes);
+            }
+        }
+        return new RenderedDocument(documentBytes, documentInfo.getFileType());
+    }
+
+    /**
+     * The file of a stored render of the document, or null if it has not been rendered with these inputs yet.
+     * Lets callers hand the file to the connector without reading it into memory.
+     *
+     * @param documentId     The document's unique ID
+     * @param documentInfo   The document's render inputs
+     * @return               The stored file, or null
+     */
+    public Path findStoredRender(UUID documentId, DocumentCreateDTO documentInfo) {
+        return renderStore.get(documentId, renderCache.keyOf(documentInfo));
+    }
+
+    /**
+     * Looks up a document owned by the user and returns the information needed to render it.
+     * Streaming downloads call this before the response starts so that lookup errors still produce a proper status.
      *
      * @param userID       The user's unique ID
      * @param documentId   The document's unique ID
-     * @return             Byte code that allows the user to download their document without taking up space in the DB.
+     * @return             The document's render inputs
      */
-    public byte[] loadDocument(UUID userID, UUID documentId) throws IOException {
+    public DocumentCreateDTO findRenderableDocument(UUID userID, UUID documentId) {
         User user = userService.findEntityById(userID);
         if (user != null) {
             Document document = documentRepo.findById(documentId).orElse(null);
             assert document != null;
             if (document.getRelatedUser().getUsername().equals(user.getUsername())) {
-                DocumentCreateDTO documentInfo = documentMapper.toCreateDTO(document);
-                byte[] documentBytes = null;
-                if (documentInfo.getFileType().equals(FileType.PDF)) {
-                    documentBytes = pdfGeneratorService.generatePDF(documentInfo);
-                } else if (documentInfo.getFileType().equals(FileType.DOCX)) {
-                    System.out.println("NOT READY YET: DOCX generation is not implemented.");
-                }
-                return documentBytes;
+                return documentMapper.toCreateDTO(document);
             } else {
                 throw new EntityNotFoundException("Document does not belong to the user");
             }
@@ -84,6 +172,74 @@ public class DocumentService {
         }
     }
 
+    /**
+     * Looks up the user's documents, or only the given ones when {@code documentIds} is set, and returns
+     * their render inputs keyed by document ID in creation order. Used by batch export.
+     * Documents are loaded with their bodies in slices of {@value #RENDER_SLICE_SIZE}, each in its own transaction,
+     * so neither the connection nor the loaded entities are held for the whole export.
+     *
+     * @param userID        The user's unique ID
+     * @param documentIds   The documents to include, or null for all of the user's documents
+     * @return              The render inputs of each document
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public Map<UUID, DocumentCreateDTO> findRenderableDocuments(UUID userID, List<UUID> documentIds) {
+        User user = inTransaction("find_user", () -> userService.findEntityById(userID));
+        if (user == null) {
+            throw new EntityNotFoundException("User not found");
+        }
+        Map<UUID, DocumentCreateDTO> documents = new LinkedHashMap<>();
+        Pageable pageable = PageRequest.of(0, RENDER_SLICE_SIZE);
+        while (pageable != null) {
+            Pageable slicePage = pageable;
+            pageable = inTransaction("load_documents", () -> {
+                Slice<Document> slice = documentIds == null
+                        ? documentRepo.findRenderableByUserId(userID, slicePage)
+                        : documentRepo.findRenderableByUserIdAndDocIds(userID, documentIds, slicePage);
+                for (Document document : slice) {
+                    documents.put(document.getDocId(), documentMapper.toCreateDTO(document));
+                }
+                return slice.hasNext() ? slice.nextPageable() : null;
+            });
+        }
+        return documents;
+    }
+
+    /**
+     * Writes a rendered document straight into the given stream without building an intermediate byte array.
+     * Cached renders are copied as-is and stored renders are transferred from their file. Anything else is rendered
+     * on the render pool into the on-disk store and then transferred from there on the calling thread, so a slow
+     * client never holds a render thread and the render is kept for the next download. If the store cannot keep it,
+     * the document is rendered on the render pool directly into the stream.
+     *
+     * @param documentId     The document's unique ID
+     * @param document       The document's render inputs
+     * @param outputStream   The stream to write to, usually the HTTP response body
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void writeDocument(UUID documentId, DocumentCreateDTO document, OutputStream outputStream)
+            throws IOException {
+        String cacheKey = renderCache.keyOf(document);
+        byte[] cached = renderCache.get(cacheKey);
+        if (cached != null) {
+            outputStream.write(cached);
+            return;
+        }
+        Path stored = renderStore.get(documentId, cacheKey);
+        if (stored != null && transferStored(stored, outputStream)) {
+            return;
+        }
+        stored = renderExecutor.render(
+                () -> renderStore.write(documentId, cacheKey, fileStream -> writeRender(document, fileStream)));
+        if (stored != null && transferStored(stored, outputStream)) {
+            return;
+        }
+        renderExecutor.render(() -> {
+            writeRender(document, outputStream);
+            return null;
+        });
+    }
+
     // For testing purposes
     public DocumentDTO createDocument(UUID userID, DocumentCreateDTO document) {
         User user = userService.findEntityById(userID);
@@ -95,8 +251,52 @@ public class DocumentService {
         return documentMapper.toDTO(documentRepo.save(generatedDoc));
     }
 
+    /**
+     * The ETag of a document's rendered file, built from its version without loading the document.
+     * A blank date renders as today's date, so the day is part of the tag for those documents. The render format
+     * version and the PDF compression mode are part of it too, so a changed layout or save mode is downloaded again.
+     *
+     * @param userID       The user's unique ID
+     * @param documentId   The document's unique ID
+     * @return             A strong ETag value
+     */
+    public String getRenderETag(UUID userID, UUID documentId) {
+        DocumentVersionDTO version = findOwnedVersion(userID, documentId);
+        String tag = documentId + "-" + versionOf(version) + "-" + version.getFileType()
+                + "-r" + RenderStore.FORMAT_VERSION;
+        if (version.getFileType() == FileType.PDF && pdfCompression.isCompact()) {
+            tag += "-compact";
+        }
+        if (version.getDate() == null || version.getDate().trim().isEmpty()) {
+            tag += "-" + LocalDate.now().toEpochDay();
+        }
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * The ETag of a document's DTO, built from its version without loading the document.
+     * Only documents of the authenticated user have one.
+     *
+     * @param documentID   The document's unique ID
+     * @return             A strong ETag value
+     */
+    public String getDocumentETag(UUID documentID) {
+        DocumentVersionDTO version = findOwnedVersion(authenticatedUserId(), documentID);
+        return "\"" + documentID + "-" + versionOf(version) + "\"";
+    }
+
+    /**
+     * A document of the authenticated user.
+     *
+     * @param documentID   The document's unique ID
+     * @return             The document
+     */
     public DocumentDTO getDocument(UUID documentID) {
-        return documentMapper.toDTO(documentRepo.findById(documentID).orElse(null));
+        UUID userID = authenticatedUserId();
+        Document document = documentRepo.findById(documentID)
+                .filter(found -> found.getRelatedUser().getUserId().equals(userID))
+                .orElseThrow(() -> new EntityNotFoundException("Document not found"));
+        return documentMapper.toDTO(document);
     }
 
     // This method retrieves a list of documents related to a specific user.
@@ -106,15 +306,187 @@ public class DocumentService {
         if (user == null) {
             throw new EntityNotFoundException("User not found");
         }
-        List<Document> documentListDTOS = documentRepo.findByRelatedUser(user);
-        return documentListDTOS.stream().map(documentMapper::toListDTO).collect(Collectors.toList());
+        return documentRepo.findListByUserId(userID);
     }
 
+    /**
+     * A page of the user's documents, newest first. Pages are found by position rather than offset, so each one
+     * costs the same however deep into the list it is.
+     *
+     * @param userID    The user's unique ID
+     * @param size      The number of documents per page, capped at 100
+     * @param cursor    The nextCursor of the previous page, or null for the first page
+     * @return          The page, with the cursor of the next page or null if this is the last one
+     * @throws IllegalArgumentException if the cursor is not one this method handed out
+     */
+    public DocumentListPageDTO getDocumentListPage(UUID userID, int size, String cursor) {
+        User user = userService.findEntityById(userID);
+        if (user == null) {
+            throw new EntityNotFoundException("User not found");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+
+        List<DocumentListDTO> documents;
+        if (cursor == null || cursor.isBlank()) {
+            documents = documentRepo.findListPageByUserId(userID, pageRequest);
+        } else {
+            DocumentListDTO position = DocumentCursor.decode(cursor);
+            documents = documentRepo.findListPageByUserIdAfter(
+                    userID, position.getTimeCreated(), position.getDocId(), pageRequest);
+        }
+
+        if (documents.size() <= pageSize) {
+            return new DocumentListPageDTO(documents, null);
+        }
+        List<DocumentListDTO> page = documents.subList(0, pageSize);
+        return new DocumentListPageDTO(page, DocumentCursor.encode(page.get(pageSize - 1)));
+    }
+
+    /**
+     * Deletes a document of the authenticated user with a single statement, without loading the document
+     * or the user's document collection.
+     *
+     * @param docId   The document's unique ID
+     */
     @Transactional
     public void deleteDocument(UUID docId) {
-        Document document = documentRepo.findById(docId).orElseThrow();
-        User user = document.getRelatedUser();
-        user.getDocuments().remove(document);
-        userService.save(user);
+        if (documentRepo.deleteOwnedDocument(docId, authenticatedUserId()) == 0) {
+            throw new EntityNotFoundException("Document not found");
+        }
+        renderCache.invalidate(docId);
+        renderStore.invalidate(docId);
+    }
+
+    /**
+     * Queues a render of a saved document without waiting for it. The result is cached like a regular load.
+     *
+     * @param docId      The document's unique ID
+     * @param document   The document's render inputs
+     * @param onStart    Called on the render thread when the render starts
+     * @return           A future completed with the rendered bytes
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CompletableFuture<byte[]> submitRender(UUID docId, DocumentCreateDTO document, Runnable onStart) {
+        String cacheKey = renderCache.keyOf(document);
+        byte[] cached = renderCache.get(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return renderExecutor.submit(() -> {
+            onStart.run();
+            byte[] documentBytes = generate(document);
+            keepRender(docId, cacheKey, documentBytes);
+            return documentBytes;
+        });
+    }
+
+    private DocumentVersionDTO findOwnedVersion(UUID userID, UUID documentId) {
+        DocumentVersionDTO version = documentRepo.findVersionById(documentId)
+                .orElseThrow(() -> new EntityNotFoundException("Document not found"));
+        if (!version.getUserId().equals(userID)) {
+            throw new EntityNotFoundException("Document does not belong to the user");
+        }
+        return version;
+    }
+
+    private UUID authenticatedUserId() {
+        Account account = authUtil.getAuthenticatedAccount();
+        if (account == null || account.getUser() == null) {
+            throw new EntityNotFoundException("No authenticated account found");
+        }
+        return account.getUser().getUserId();
+    }
+
+    private static long versionOf(DocumentVersionDTO version) {
+        return version.getVersion() != null ? version.getVersion() : 0;
+    }
+
+    /**
+     * Runs the work in its own transaction and records how long the transaction took. The connection is taken from
+     * the pool when the transaction begins and returned when it ends, so this is the connection hold time plus any
+     * wait for a free connection.
+     */
+    private <T> T inTransaction(String operation, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            sample.stop(Timer.builder("docu.db.transaction")
+                    .description("Time spent in database transactions, from waiting for a pooled connection to "
+                            + "releasing it")
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Keeps a fresh render in the in-memory cache and the on-disk store.
+     */
+    private void keepRender(UUID docId, String cacheKey, byte[] documentBytes) {
+        renderCache.put(docId, cacheKey, documentBytes);
+        renderStore.put(docId, cacheKey, documentBytes);
+    }
+
+    private byte[] readStored(UUID documentId, String cacheKey) throws IOException {
+        Path stored = renderStore.get(documentId, cacheKey);
+        if (stored == null) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(stored);
+        } catch (NoSuchFileException e) {
+            // Evicted since the lookup
+            return null;
+        }
+    }
+
+    /**
+     * Copies a stored render into the stream through its file channel, which lets the OS move the bytes without
+     * copying them through the heap where the target allows it. Returns false if the file was evicted before it
+     * could be opened.
+     */
+    private boolean transferStored(Path stored, OutputStream outputStream) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(stored);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        try (channel) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders on the bounded render pool rather than the request thread.
+     */
+    private byte[] render(DocumentCreateDTO document) throws IOException {
+        return renderExecutor.render(() -> generate(document));
+    }
+
+    private void writeRender(DocumentCreateDTO document, OutputStream outputStream) throws IOException {
+        if (document.getFileType().equals(FileType.PDF)) {
+            pdfGeneratorService.writePDF(document, outputStream);
+        } else if (document.getFileType().equals(FileType.DOCX)) {
+            docxGeneratorService.writeDOCX(document, outputStream);
+        }
+    }
+
+    private byte[] generate(DocumentCreateDTO document) throws IOException {
+        if (document.getFileType().equals(FileType.PDF)) {
+            return pdfGeneratorService.generatePDF(document);
+        } else if (document.getFileType().equals(FileType.DOCX)) {
+            return docxGeneratorService.generateDOCX(document);
+        }
+        return null;
     }
 }
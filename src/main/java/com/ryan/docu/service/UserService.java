@@ -4,7 +4,14 @@ import com.ryan.docu.mapper.UserMapper;
 import com.ryan.docu.model.User;
 import com.ryan.docu.model.dto.UserCreateDTO;
 import com.ryan.docu.model.dto.UserDTO;
+import com.ryan.docu.repo.DocumentRepo;
 import com.ryan.docu.repo.UserRepo;
+import com.ryan.docu.security.repo.AccountRepo;
+import com.ryan.docu.security.service.UserPrincipalCache;
+import com.ryan.docu.service.generators.cache.RenderCache;
+import com.ryan.docu.service.generators.cache.RenderStore;
+import com.ryan.docu.util.AuthenticationUtil;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -19,7 +26,13 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepo userRepo;
+    private final AccountRepo accountRepo;
+    private final DocumentRepo documentRepo;
     private final UserMapper userMapper;
+    private final RenderCache renderCache;
+    private final RenderStore renderStore;
+    private final UserPrincipalCache principalCache;
+    private final AuthenticationUtil authUtil;
 
     public User createUser(UserCreateDTO userCreateDTO) {
         return userRepo.save(userMapper.toEntity(userCreateDTO));
@@ -37,8 +50,25 @@ public class UserService {
         return userRepo.findAll().stream().map(userMapper::toDTO).collect(Collectors.toList());
     }
 
+    /**
+     * Deletes the authenticated user with bulk statements: their documents and document bodies first, then their
+     * account and the user row, all in one transaction. Only the document IDs are read, to drop their renders.
+     *
+     * @param id   The user's unique ID
+     */
     public void deleteUser(UUID id) {
-        userRepo.deleteById(id);
+        if (authUtil.isUserUnauthorized(id)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        List<UUID> docIds = documentRepo.findIdsByUserId(id);
+        documentRepo.deleteAllByUserId(id);
+        accountRepo.deleteByUserId(id);
+        userRepo.deleteByUserId(id);
+        for (UUID docId : docIds) {
+            renderCache.invalidate(docId);
+            renderStore.invalidate(docId);
+        }
+        principalCache.invalidateUser(id);
     }
 
     // Helper method for Document Service class functions
@@ -0,0 +1,79 @@
+package com.ryan.docu.service.generators;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how generated PDFs are written out. By default documents are saved with PDFBox's standard settings.
+ * With {@code docu.render.compact.enabled} they are saved in compact mode: objects are packed into large object
+ * streams ({@code docu.render.compact.object-stream-size} objects each) behind a compressed cross-reference stream,
+ * next to the Flate-compressed page content streams. A {@code docu.render.compact.savings-sample-rate} share of
+ * compact saves is also saved with the standard settings and the difference is recorded, which costs a second save
+ * for each sampled document.
+ */
+@Component
+public class PdfCompression {
+
+    private final boolean compact;
+    private final int objectStreamSize;
+    private final double savingsSampleRate;
+    private final MeterRegistry meterRegistry;
+
+    public PdfCompression(
+            @Value("${docu.render.compact.enabled:false}") boolean compact,
+            @Value("${docu.render.compact.object-stream-size:1000}") int objectStreamSize,
+            @Value("${docu.render.compact.savings-sample-rate:0}") double savingsSampleRate,
+            MeterRegistry meterRegistry) {
+        this.compact = compact;
+        this.objectStreamSize = objectStreamSize;
+        this.savingsSampleRate = savingsSampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * Saves the document into the stream using the configured compression.
+     *
+     * @return the number of bytes written
+     */
+    public long save(PDDocument document, OutputStream outputStream, String formatTag) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+        if (!compact) {
+            document.save(countingStream);
+            return countingStream.getCount();
+        }
+
+        long defaultSize = isSampled() ? measureDefault(document) : -1;
+        document.save(countingStream, new CompressParameters(objectStreamSize));
+        if (defaultSize >= 0) {
+            DistributionSummary.builder("docu.pdf.compact.saved.bytes")
+                    .description("Bytes saved per sampled PDF by compact mode compared to the standard save")
+                    .tag("format", formatTag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Math.max(0, defaultSize - countingStream.getCount()));
+        }
+        return countingStream.getCount();
+    }
+
+    private boolean isSampled() {
+        return savingsSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < savingsSampleRate;
+    }
+
+    private long measureDefault(PDDocument document) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(OutputStream.nullOutputStream());
+        document.save(countingStream);
+        return countingStream.getCount();
+    }
+}
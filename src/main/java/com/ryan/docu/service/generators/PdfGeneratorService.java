@@ -2,18 +2,39 @@ package com.ryan.docu.service.generators;
 
 import com.ryan.docu.model.dto.DocumentCreateDTO;
 import com.ryan.docu.model.enums.Format;
+import com.ryan.docu.service.generators.cache.HeaderTemplate;
+import com.ryan.docu.service.generators.cache.HeaderTemplateCache;
+import com.ryan.docu.service.generators.cache.PageFragment;
+import com.ryan.docu.service.generators.cache.PageFragmentCache;
+import com.ryan.docu.service.generators.cache.ParagraphLayoutCache;
+import com.ryan.docu.service.generators.executor.RenderMemoryBudget;
+import com.ryan.docu.service.generators.fonts.FontMetrics;
+import com.ryan.docu.service.generators.layout.BodyLayout;
+import com.ryan.docu.service.generators.layout.BodyLayoutEngine;
+import com.ryan.docu.service.generators.layout.LayoutLine;
+import com.ryan.docu.service.generators.layout.LayoutPage;
+import com.ryan.docu.service.generators.layout.TextWrapper;
 import com.ryan.docu.service.generators.styles.ApaFormatter;
 import com.ryan.docu.service.generators.styles.MlaFormatter;
 import com.ryan.docu.service.generators.styles.StyleFormatter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
+import org.apache.pdfbox.util.Matrix;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,23 +47,70 @@ public class PdfGeneratorService {
     private static final float DOUBLE_SPACE = 24;
     private static final float PARAGRAPH_INDENT = 36; // 0.5 inch first line indent
     private static final float FONT_SIZE = 12;
-    private static final PDType1Font FONT = new PDType1Font(Standard14Fonts.FontName.TIMES_ROMAN);
+    private static final FontMetrics METRICS = FontMetrics.TIMES_ROMAN;
+    private static final PDType1Font FONT = METRICS.getFont();
+    private static final PDType1Font BOLD_FONT = FontMetrics.TIMES_BOLD.getFont();
 
     private final Map<Format, StyleFormatter> formatters;
-
-    public PdfGeneratorService() {
+    private final TextWrapper textWrapper;
+    private final BodyLayoutEngine layoutEngine;
+    private final PageFragmentCache fragmentCache;
+    private final HeaderTemplateCache headerCache;
+    private final PdfCompression pdfCompression;
+    private final RenderMemoryBudget memoryBudget;
+    private final MeterRegistry meterRegistry;
+
+    public PdfGeneratorService(
+            ParagraphLayoutCache paragraphCache,
+            PageFragmentCache fragmentCache,
+            HeaderTemplateCache headerCache,
+            PdfCompression pdfCompression,
+            RenderMemoryBudget memoryBudget,
+            MeterRegistry meterRegistry) {
         formatters = new HashMap<>();
         formatters.put(Format.MLA, new MlaFormatter());
         formatters.put(Format.APA, new ApaFormatter());
+        textWrapper = new TextWrapper(METRICS, FONT_SIZE, PARAGRAPH_INDENT);
+        layoutEngine = new BodyLayoutEngine(
+                textWrapper,
+                paragraphCache,
+                MARGIN,
+                DOUBLE_SPACE,
+                PARAGRAPH_INDENT,
+                MARGIN + (DOUBLE_SPACE * 3),
+                DOUBLE_SPACE * 2);
+        this.fragmentCache = fragmentCache;
+        this.headerCache = headerCache;
+        this.pdfCompression = pdfCompression;
+        this.memoryBudget = memoryBudget;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Generates a new PDF document based on the provided DocumentCreateDTO.
      */
     public byte[] generatePDF(DocumentCreateDTO document) throws IOException {
-        try (PDDocument pdfDocument = new PDDocument()) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            writePDF(document, outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Generates a new PDF document and saves it straight into the given stream, so large documents
+     * never need a full in-memory copy of their bytes.
+     * Each phase (header, body, works cited, save) is timed, and page count and output size are recorded.
+     * The title block and the running head name are stamped from cached Form XObjects, so only the page
+     * numbers are written as text on every render.
+     * The document's scratch data is held within a reservation of the render memory budget and spills to temp files
+     * beyond it.
+     */
+    public void writePDF(DocumentCreateDTO document, OutputStream outputStream) throws IOException {
+        try (RenderMemoryBudget.Reservation memory = memoryBudget.reserve();
+                PDDocument pdfDocument = memory.newDocument()) {
             PDPage page1 = new PDPage();
             pdfDocument.addPage(page1);
+            PDFormXObject runningHead = getRunningHead(pdfDocument, document);
 
             // Write main content to first page
             float finalYPosition;
@@ -51,17 +119,19 @@ public class PdfGeneratorService {
 
                 float yPosition = page1.getMediaBox().getHeight() - MARGIN;
 
+                Timer.Sample headerSample = Timer.start(meterRegistry);
                 // Header numbering
-                writeHeaderNumber(contentStream, document, page1, 1);
+                writeHeaderNumber(contentStream, document, page1, 1, runningHead);
 
                 // Writes the Header for the Student.
-                yPosition = writeStudentInfo(
-                        contentStream, document, yPosition, page1.getMediaBox().getWidth());
+                yPosition = writeStudentInfo(pdfDocument, contentStream, document, yPosition, page1);
+                headerSample.stop(phaseTimer("header", document));
 
+                Timer.Sample bodySample = Timer.start(meterRegistry);
                 // Body text with proper formatting
                 if (document.getBodyText() != null
                         && !document.getBodyText().trim().isEmpty()) {
-                    finalYPosition = writeBodyText(pdfDocument, contentStream, document, yPosition);
+                    finalYPosition = writeBodyText(pdfDocument, contentStream, document, yPosition, runningHead);
                 } else {
                     // Default placeholder if no body text provided
                     yPosition -= DOUBLE_SPACE;
@@ -71,19 +141,28 @@ public class PdfGeneratorService {
                     contentStream.endText();
                     finalYPosition = yPosition;
                 }
+                bodySample.stop(phaseTimer("body", document));
             } // contentStream is automatically closed here
 
             // Add Works Cited page - AFTER the main content stream is closed
-            addWorksCitedPage(pdfDocument, document, finalYPosition);
+            Timer.Sample worksCitedSample = Timer.start(meterRegistry);
+            addWorksCitedPage(pdfDocument, document, finalYPosition, runningHead);
+            worksCitedSample.stop(phaseTimer("works_cited", document));
+
+            Timer.Sample saveSample = Timer.start(meterRegistry);
+            long outputBytes = pdfCompression.save(pdfDocument, outputStream, formatTag(document));
+            saveSample.stop(phaseTimer("save", document));
 
-            return convertToByteArray(pdfDocument);
+            summary("docu.pdf.pages", "Pages per generated PDF", document).record(pdfDocument.getNumberOfPages());
+            summary("docu.pdf.bytes", "Size of generated PDFs in bytes", document).record(outputBytes);
         }
     }
 
     /**
      * Adds a Works Cited page to the PDF document.
      */
-    private void addWorksCitedPage(PDDocument pdfDocument, DocumentCreateDTO document, float lastYPosition)
+    private void addWorksCitedPage(
+            PDDocument pdfDocument, DocumentCreateDTO document, float lastYPosition, PDFormXObject runningHead)
             throws IOException {
         PDPage lastPage = pdfDocument.getPage(pdfDocument.getNumberOfPages() - 1);
 
@@ -95,7 +174,7 @@ public class PdfGeneratorService {
             contentStream.setFont(FONT, FONT_SIZE);
 
             float yPosition = newPage.getMediaBox().getHeight() - MARGIN;
-            writeHeaderNumber(contentStream, document, newPage, pdfDocument.getNumberOfPages());
+            writeHeaderNumber(contentStream, document, newPage, pdfDocument.getNumberOfPages(), runningHead);
             yPosition -= DOUBLE_SPACE * 2;
             writeWorksCited(document, contentStream, yPosition, document.getFormat());
         }
@@ -103,9 +182,15 @@ public class PdfGeneratorService {
 
     /**
      * Writes the body text to the PDF, handling pagination as needed.
+     * The body is laid out once into lines and pages, then the layout is replayed onto the pages.
+     * Continuation pages that were already rendered with identical content are copied from the fragment cache.
      */
     private float writeBodyText(
-            PDDocument document, PDPageContentStream contentStream, DocumentCreateDTO doc, float startY)
+            PDDocument document,
+            PDPageContentStream contentStream,
+            DocumentCreateDTO doc,
+            float startY,
+            PDFormXObject runningHead)
             throws IOException {
         String bodyText = doc.getBodyText();
         if (bodyText == null || bodyText.trim().isEmpty()) {
@@ -125,91 +210,189 @@ public class PdfGeneratorService {
             }
         }
 
-        float yPosition = startY - DOUBLE_SPACE;
-        PDPage currentPage = document.getPage(0);
-        PDPageContentStream currentStream = contentStream;
-        boolean isOriginalStream = true;
-
-        for (String paragraph : validParagraphs) {
-            // Check if we need a new page
-            int estimatedLines =
-                    estimateParagraphLines(paragraph, currentPage.getMediaBox().getWidth());
-            float estimatedHeight = estimatedLines * DOUBLE_SPACE;
-
-            if (yPosition - estimatedHeight < MARGIN + (DOUBLE_SPACE * 3)) {
-                // Close current stream only if it's not the original one
-                if (!isOriginalStream) {
-                    currentStream.close();
-                }
-
-                // Create new page
-                PDPage newPage = new PDPage();
-                document.addPage(newPage);
-                currentPage = newPage;
-
-                // Create new stream for the new page
-                currentStream = new PDPageContentStream(document, currentPage);
-                currentStream.setFont(FONT, FONT_SIZE);
-                isOriginalStream = false;
-
-                // Add header to new page
-                writeHeaderNumber(currentStream, doc, currentPage, document.getNumberOfPages());
-                yPosition = currentPage.getMediaBox().getHeight() - MARGIN - (DOUBLE_SPACE * 2);
+        summary("docu.pdf.paragraphs", "Body paragraphs per generated PDF", doc).record(validParagraphs.size());
+
+        PDPage firstPage = document.getPage(0);
+        boolean shouldIndent =
+                doc.getFormat() == Format.MLA || doc.getFormat() == null || doc.getFormat() == Format.APA;
+        BodyLayout layout = layoutEngine.layout(
+                validParagraphs,
+                startY,
+                firstPage.getMediaBox().getWidth(),
+                firstPage.getMediaBox().getHeight(),
+                shouldIndent);
+
+        // The first layout page continues the page the header is on
+        writeLines(contentStream, layout.pages().get(0));
+
+        for (int i = 1; i < layout.pages().size(); i++) {
+            PDPage newPage = new PDPage();
+            document.addPage(newPage);
+
+            LayoutPage layoutPage = layout.pages().get(i);
+            String fragmentKey =
+                    fragmentCache.keyOf(getHeaderText(doc, document.getNumberOfPages()), layoutPage);
+            PageFragment fragment = fragmentCache.get(fragmentKey);
+            if (fragment != null) {
+                fragment.applyTo(document, newPage, FONT, runningHead);
+                continue;
             }
 
-            // Write paragraph
-            boolean shouldIndent =
-                    doc.getFormat() == Format.MLA || doc.getFormat() == null || doc.getFormat() == Format.APA;
-            yPosition = writeParagraph(
-                    currentStream,
-                    paragraph,
-                    yPosition,
-                    currentPage.getMediaBox().getWidth(),
-                    shouldIndent);
+            try (PDPageContentStream pageStream = new PDPageContentStream(document, newPage)) {
+                pageStream.setFont(FONT, FONT_SIZE);
+                writeHeaderNumber(pageStream, doc, newPage, document.getNumberOfPages(), runningHead);
+                writeLines(pageStream, layoutPage);
+            }
+            fragmentCache.put(fragmentKey, PageFragment.capture(newPage));
         }
 
-        if (!isOriginalStream) {
-            currentStream.close();
-        }
+        return layout.finalY();
+    }
 
-        return yPosition;
+    private void writeLines(PDPageContentStream contentStream, LayoutPage page) throws IOException {
+        for (LayoutLine line : page.lines()) {
+            contentStream.beginText();
+            contentStream.newLineAtOffset(line.x(), line.y());
+            contentStream.showText(line.text());
+            contentStream.endText();
+        }
     }
 
+    /**
+     * Writes the running head of a page. When the document has a running head form, the form is stamped
+     * and only the page number is written after it.
+     */
     private void writeHeaderNumber(
-            PDPageContentStream contentStream, DocumentCreateDTO document, PDPage page, int pageNumber)
+            PDPageContentStream contentStream,
+            DocumentCreateDTO document,
+            PDPage page,
+            int pageNumber,
+            PDFormXObject runningHead)
             throws IOException {
-        String name = getValueOrDefault(document.getName(), "[NAME]");
-        String lastName = getLastName(name);
-        String headerText;
+        String headerText = getHeaderText(document, pageNumber);
 
         float pageWidth = page.getMediaBox().getWidth();
-        if (document.getFormat() == Format.MLA) {
-            headerText = lastName + " " + pageNumber;
-        } else {
-            headerText = Integer.toString(pageNumber);
-        }
-
-        float headerWidth = FONT.getStringWidth(headerText) / 1000 * FONT_SIZE;
+        float headerWidth = METRICS.getWidth(headerText, FONT_SIZE);
         float headerX = pageWidth - MARGIN - headerWidth;
         float headerY = page.getMediaBox().getHeight() - MARGIN + 15;
 
+        if (runningHead == null) {
+            contentStream.beginText();
+            contentStream.newLineAtOffset(headerX, headerY);
+            contentStream.showText(headerText);
+            contentStream.endText();
+            return;
+        }
+
+        String number = Integer.toString(pageNumber);
+        float nameWidth = headerWidth - METRICS.getWidth(number, FONT_SIZE);
+
+        contentStream.saveGraphicsState();
+        contentStream.transform(Matrix.getTranslateInstance(headerX, headerY));
+        contentStream.drawForm(runningHead);
+        contentStream.restoreGraphicsState();
+
         contentStream.beginText();
-        contentStream.newLineAtOffset(headerX, headerY);
-        contentStream.showText(headerText);
+        contentStream.newLineAtOffset(headerX + nameWidth, headerY);
+        contentStream.showText(number);
         contentStream.endText();
     }
 
+    /**
+     * The running head of a page: the author's last name and page number for MLA, just the page number otherwise.
+     */
+    private String getHeaderText(DocumentCreateDTO document, int pageNumber) {
+        String name = getRunningHeadName(document);
+        return name != null ? name + pageNumber : Integer.toString(pageNumber);
+    }
+
+    /**
+     * The static part of the running head, or null if the running head is only the page number.
+     */
+    private String getRunningHeadName(DocumentCreateDTO document) {
+        if (document.getFormat() == Format.MLA) {
+            String name = getValueOrDefault(document.getName(), "[NAME]");
+            return getLastName(name) + " ";
+        }
+        return null;
+    }
+
+    /**
+     * The running head name of the document as a Form XObject drawn at the origin, shared by all of its pages.
+     * Returns null when the running head has no static part.
+     */
+    private PDFormXObject getRunningHead(PDDocument pdfDocument, DocumentCreateDTO document) throws IOException {
+        String name = getRunningHeadName(document);
+        if (name == null) {
+            return null;
+        }
+        String key = headerCache.runningHeadKeyOf(name);
+        HeaderTemplate template = headerCache.get(key);
+        if (template != null) {
+            return template.toForm(pdfDocument);
+        }
+
+        // Leave room for ascenders and descenders around the baseline at the origin
+        PDRectangle bbox = new PDRectangle(0, -FONT_SIZE, METRICS.getWidth(name, FONT_SIZE), FONT_SIZE * 3);
+        PDAppearanceStream form = createForm(pdfDocument, bbox);
+        try (PDPageContentStream formStream = openForm(pdfDocument, form)) {
+            formStream.beginText();
+            formStream.setFont(FONT, FONT_SIZE);
+            formStream.newLineAtOffset(0, 0);
+            formStream.showText(name);
+            formStream.endText();
+        }
+        headerCache.put(key, HeaderTemplate.capture(form, 0));
+        return form;
+    }
+
+    /**
+     * Stamps the title block of the document's format onto the page and returns the position below it.
+     * The block is compiled into a Form XObject the first time a header is seen and copied from the cache after.
+     */
     private float writeStudentInfo(
-            PDPageContentStream contentStream, DocumentCreateDTO document, float yPosition, float pageWidth)
+            PDDocument pdfDocument,
+            PDPageContentStream contentStream,
+            DocumentCreateDTO document,
+            float yPosition,
+            PDPage page)
             throws IOException {
+        float pageWidth = page.getMediaBox().getWidth();
+        String key = headerCache.keyOf(document, yPosition, pageWidth);
+        HeaderTemplate template = headerCache.get(key);
+        if (template != null) {
+            contentStream.drawForm(template.toForm(pdfDocument));
+            return template.resultY();
+        }
+
         Format format = document.getFormat() != null ? document.getFormat() : Format.MLA;
         StyleFormatter formatter = formatters.get(format);
+        if (formatter == null) {
+            formatter = formatters.get(Format.MLA);
+        }
 
-        if (formatter != null) {
-            return formatter.writeHeader(contentStream, document, yPosition, pageWidth);
-        } else {
-            return formatters.get(Format.MLA).writeHeader(contentStream, document, yPosition, pageWidth);
+        PDAppearanceStream form = createForm(pdfDocument, page.getMediaBox());
+        float resultY;
+        try (PDPageContentStream formStream = openForm(pdfDocument, form)) {
+            formStream.setFont(FONT, FONT_SIZE);
+            resultY = formatter.writeHeader(formStream, document, yPosition, pageWidth);
         }
+        headerCache.put(key, HeaderTemplate.capture(form, resultY));
+
+        contentStream.drawForm(form);
+        return resultY;
+    }
+
+    private PDAppearanceStream createForm(PDDocument pdfDocument, PDRectangle bbox) {
+        PDAppearanceStream form = new PDAppearanceStream(pdfDocument);
+        form.setBBox(new PDRectangle(bbox.getLowerLeftX(), bbox.getLowerLeftY(), bbox.getWidth(), bbox.getHeight()));
+        form.setResources(new PDResources());
+        return form;
+    }
+
+    private PDPageContentStream openForm(PDDocument pdfDocument, PDAppearanceStream form) throws IOException {
+        return new PDPageContentStream(
+                pdfDocument, form, form.getStream().createOutputStream(COSName.FLATE_DECODE));
     }
 
     private void writeWorksCited(DocumentCreateDTO doc, PDPageContentStream contentStream, float startY, Format format)
@@ -219,11 +402,11 @@ public class PdfGeneratorService {
         // Works Cited title - centered
         String citationTitle = getCitationTitle(format);
         float pageWidth = 612; // Standard letter width
-        float titleWidth = FONT.getStringWidth(citationTitle) / 1000 * FONT_SIZE;
+        float titleWidth = METRICS.getWidth(citationTitle, FONT_SIZE);
         float centerX = (pageWidth - titleWidth) / 2;
 
         contentStream.beginText();
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.TIMES_BOLD), FONT_SIZE);
+        contentStream.setFont(BOLD_FONT, FONT_SIZE);
         contentStream.newLineAtOffset(centerX, yPosition);
         contentStream.showText(citationTitle);
         contentStream.endText();
@@ -236,7 +419,7 @@ public class PdfGeneratorService {
         List<String> citations = doc.getCitations();
         for (String citation : citations) {
             if (citation.length() > 80) { // Rough estimate for line length
-                List<String> wrappedLines = wrapText(citation, 612 - (2 * MARGIN), false);
+                List<String> wrappedLines = textWrapper.wrap(citation, 612 - (2 * MARGIN), false);
                 for (String line : wrappedLines) {
                     contentStream.beginText();
                     contentStream.newLineAtOffset(MARGIN, yPosition);
@@ -260,85 +443,6 @@ public class PdfGeneratorService {
         return formatter != null ? formatter.getCitationTitle() : "Works Cited";
     }
 
-    private int estimateParagraphLines(String text, float pageWidth) throws IOException {
-        float maxWidthFirstLine = pageWidth - (2 * MARGIN) - PARAGRAPH_INDENT;
-        float maxWidthRegular = pageWidth - (2 * MARGIN);
-        String[] words = text.split("\\s+");
-
-        int lines = 1;
-        float currentLineWidth = 0;
-        boolean isFirstLine = true;
-
-        for (String word : words) {
-            float wordWidth = FONT.getStringWidth(word + " ") / 1000 * FONT_SIZE;
-            float currentMaxWidth = isFirstLine ? maxWidthFirstLine : maxWidthRegular;
-
-            if (currentLineWidth + wordWidth > currentMaxWidth) {
-                lines++;
-                currentLineWidth = wordWidth;
-                isFirstLine = false;
-            } else {
-                currentLineWidth += wordWidth;
-            }
-        }
-        return lines;
-    }
-
-    private float writeParagraph(
-            PDPageContentStream contentStream, String text, float startY, float pageWidth, boolean indentFirstLine)
-            throws IOException {
-        float maxWidth = pageWidth - (2 * MARGIN);
-        List<String> lines = wrapText(text, maxWidth, indentFirstLine);
-        float yPosition = startY;
-
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
-            float xPosition = MARGIN;
-
-            if (i == 0 && indentFirstLine) {
-                xPosition += PARAGRAPH_INDENT;
-            }
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(xPosition, yPosition);
-            contentStream.showText(line);
-            contentStream.endText();
-
-            yPosition -= DOUBLE_SPACE;
-        }
-        return yPosition;
-    }
-
-    private List<String> wrapText(String text, float maxWidth, boolean hasIndent) throws IOException {
-        List<String> lines = new ArrayList<>();
-        String[] words = text.split("\\s+");
-        StringBuilder currentLine = new StringBuilder();
-        boolean isFirstLine = true;
-
-        for (String word : words) {
-            String testLine = currentLine.isEmpty() ? word : currentLine + " " + word;
-            float effectiveMaxWidth = (isFirstLine && hasIndent) ? maxWidth - PARAGRAPH_INDENT : maxWidth;
-            float textWidth = FONT.getStringWidth(testLine) / 1000 * FONT_SIZE;
-
-            if (textWidth <= effectiveMaxWidth) {
-                currentLine.append(currentLine.isEmpty() ? word : " " + word);
-            } else {
-                if (!currentLine.isEmpty()) {
-                    lines.add(currentLine.toString());
-                    currentLine = new StringBuilder(word);
-                } else {
-                    lines.add(word);
-                }
-                isFirstLine = false;
-            }
-        }
-
-        if (!currentLine.isEmpty()) {
-            lines.add(currentLine.toString());
-        }
-        return lines;
-    }
-
     private String getLastName(String fullName) {
         if (fullName == null || fullName.trim().isEmpty() || fullName.equals("[INSERT NAME]")) {
             return "[NAME]";
@@ -347,11 +451,25 @@ public class PdfGeneratorService {
         return nameParts.length > 1 ? nameParts[nameParts.length - 1] : nameParts[0];
     }
 
-    private byte[] convertToByteArray(PDDocument document) throws IOException {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            document.save(outputStream);
-            return outputStream.toByteArray();
-        }
+    private Timer phaseTimer(String phase, DocumentCreateDTO document) {
+        return Timer.builder("docu.pdf.phase")
+                .description("Time spent in each phase of PDF generation")
+                .tag("phase", phase)
+                .tag("format", formatTag(document))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String description, DocumentCreateDTO document) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("format", formatTag(document))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private String formatTag(DocumentCreateDTO document) {
+        return document.getFormat() != null ? document.getFormat().name() : "NONE";
     }
 
     private String getValueOrDefault(String value, String defaultValue) {
@@ -0,0 +1,8 @@
+package com.ryan.docu.service.generators;
+
+import com.ryan.docu.model.enums.FileType;
+
+/**
+ * The rendered bytes of a document together with the file type they were rendered as.
+ */
+public record RenderedDocument(byte[] content, FileType fileType) {}
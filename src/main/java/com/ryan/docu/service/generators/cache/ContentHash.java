@@ -0,0 +1,50 @@
+package com.ryan.docu.service.generators.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Incremental SHA-256 over a sequence of length-prefixed values, used to build content-addressed cache keys.
+ */
+final class ContentHash {
+
+    private final MessageDigest digest;
+
+    ContentHash() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    ContentHash add(String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return this;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        addInt(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    ContentHash add(float value) {
+        return addInt(Float.floatToIntBits(value));
+    }
+
+    ContentHash addInt(int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+        return this;
+    }
+
+    String toHex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
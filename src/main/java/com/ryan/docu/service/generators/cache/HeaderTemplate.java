@@ -0,0 +1,86 @@
+package com.ryan.docu.service.generators.cache;
+
+import com.ryan.docu.service.generators.fonts.FontMetrics;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compiled header block: the encoded content of a Form XObject plus what is needed to recreate it in another
+ * document. Recreating the form copies the bytes as they are, without measuring or emitting any text.
+ *
+ * @param rawContent   The encoded form content stream
+ * @param filter       The content stream's filter, or null if it is not encoded
+ * @param bbox         The form's bounding box
+ * @param fonts        The fonts the form uses, by resource name
+ * @param resultY      The position below the header, where the body starts
+ */
+public record HeaderTemplate(
+        byte[] rawContent, COSName filter, PDRectangle bbox, Map<COSName, FontMetrics> fonts, float resultY) {
+
+    /**
+     * Captures a finished form, or returns null if it uses anything other than the shared Standard 14 fonts.
+     */
+    public static HeaderTemplate capture(PDFormXObject form, float resultY) throws IOException {
+        PDResources resources = form.getResources();
+        Map<COSName, FontMetrics> fonts = new HashMap<>();
+        for (COSName fontName : resources.getFontNames()) {
+            FontMetrics metrics = FontMetrics.forFont(resources.getFont(fontName));
+            if (metrics == null) {
+                return null;
+            }
+            fonts.put(fontName, metrics);
+        }
+        if (resources.getXObjectNames().iterator().hasNext()) {
+            return null;
+        }
+
+        COSStream stream = form.getCOSObject();
+        COSBase streamFilter = stream.getFilters();
+        if (streamFilter != null && !(streamFilter instanceof COSName)) {
+            return null;
+        }
+        PDRectangle formBox = form.getBBox();
+        PDRectangle bboxCopy = new PDRectangle(
+                formBox.getLowerLeftX(), formBox.getLowerLeftY(), formBox.getWidth(), formBox.getHeight());
+        try (InputStream input = stream.createRawInputStream()) {
+            return new HeaderTemplate(input.readAllBytes(), (COSName) streamFilter, bboxCopy, Map.copyOf(fonts), resultY);
+        }
+    }
+
+    /**
+     * Recreates the form in the given document.
+     */
+    public PDFormXObject toForm(PDDocument document) throws IOException {
+        COSStream stream = document.getDocument().createCOSStream();
+        try (OutputStream output = stream.createRawOutputStream()) {
+            output.write(rawContent);
+        }
+        stream.setItem(COSName.TYPE, COSName.XOBJECT);
+        stream.setItem(COSName.SUBTYPE, COSName.FORM);
+        if (filter != null) {
+            stream.setItem(COSName.FILTER, filter);
+        }
+
+        PDFormXObject form = new PDFormXObject(stream);
+        form.setBBox(new PDRectangle(bbox.getLowerLeftX(), bbox.getLowerLeftY(), bbox.getWidth(), bbox.getHeight()));
+        PDResources resources = new PDResources();
+        for (Map.Entry<COSName, FontMetrics> font : fonts.entrySet()) {
+            PDFont pdFont = font.getValue().getFont();
+            resources.put(font.getKey(), pdFont);
+        }
+        form.setResources(resources);
+        return form;
+    }
+}
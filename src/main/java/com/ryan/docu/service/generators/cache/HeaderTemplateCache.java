@@ -0,0 +1,65 @@
+package com.ryan.docu.service.generators.cache;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compiled title blocks (the APA title page block and the MLA four-line header) and running head names,
+ * keyed by everything they are drawn from. Rendering a document whose header was seen before stamps the cached form instead of
+ * measuring and writing the header text again. Holds at most {@code docu.render.header-cache.max-entries} headers.
+ */
+@Component
+public class HeaderTemplateCache {
+
+    private final LinkedHashMap<String, HeaderTemplate> entries;
+
+    public HeaderTemplateCache(@Value("${docu.render.header-cache.max-entries:1000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HeaderTemplate> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Builds the key of a header from its fields and where it is drawn. A blank date is drawn as today's date,
+     * so today's date is part of the key.
+     */
+    public String keyOf(DocumentCreateDTO document, float yPosition, float pageWidth) {
+        String date = document.getDate();
+        return new ContentHash()
+                .add(document.getFormat() != null ? document.getFormat().name() : null)
+                .add(document.getTitle())
+                .add(document.getName())
+                .add(document.getProfessorName())
+                .add(document.getClassTitle())
+                .add(document.getInstituteName())
+                .add(date == null || date.trim().isEmpty() ? LocalDate.now().toString() : date)
+                .add(yPosition)
+                .add(pageWidth)
+                .toHex();
+    }
+
+    /**
+     * Builds the key of the static part of a running head.
+     */
+    public String runningHeadKeyOf(String text) {
+        return new ContentHash().add("running-head").add(text).toHex();
+    }
+
+    public synchronized HeaderTemplate get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, HeaderTemplate template) {
+        if (template != null) {
+            entries.put(key, template);
+        }
+    }
+}
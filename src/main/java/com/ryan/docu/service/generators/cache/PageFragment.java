@@ -0,0 +1,77 @@
+package com.ryan.docu.service.generators.cache;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * The finished content stream of a rendered page, kept in its encoded form so it can be copied onto a page
+ * of another document without re-emitting or re-compressing it. Only pages drawn with a single font, and at most
+ * the document's running head form, are captured.
+ *
+ * @param rawContent    The encoded content stream bytes
+ * @param filter        The content stream's filter, or null if it is not encoded
+ * @param fontName      The resource name the content stream uses for its font
+ * @param xObjectName   The resource name of the running head form, or null if the page does not use one
+ */
+public record PageFragment(byte[] rawContent, COSName filter, COSName fontName, COSName xObjectName) {
+
+    /**
+     * Captures the content of a page whose content stream has been closed, or returns null if the page
+     * does not have exactly one content stream and one font, or uses more than one form.
+     */
+    public static PageFragment capture(PDPage page) throws IOException {
+        Iterator<PDStream> streams = page.getContentStreams();
+        Iterator<COSName> fontNames = page.getResources().getFontNames().iterator();
+        Iterator<COSName> xObjectNames = page.getResources().getXObjectNames().iterator();
+        if (!streams.hasNext() || !fontNames.hasNext()) {
+            return null;
+        }
+        COSStream stream = streams.next().getCOSObject();
+        COSName fontName = fontNames.next();
+        COSName xObjectName = xObjectNames.hasNext() ? xObjectNames.next() : null;
+        COSBase filter = stream.getFilters();
+        if (streams.hasNext()
+                || fontNames.hasNext()
+                || xObjectNames.hasNext()
+                || (filter != null && !(filter instanceof COSName))) {
+            return null;
+        }
+        try (InputStream input = stream.createRawInputStream()) {
+            return new PageFragment(input.readAllBytes(), (COSName) filter, fontName, xObjectName);
+        }
+    }
+
+    /**
+     * Sets the captured content and its resources on a fresh page of the given document.
+     * {@code runningHead} is the document's running head form, required when the page was captured with one.
+     */
+    public void applyTo(PDDocument document, PDPage page, PDFont font, PDFormXObject runningHead) throws IOException {
+        COSStream stream = document.getDocument().createCOSStream();
+        try (OutputStream output = stream.createRawOutputStream()) {
+            output.write(rawContent);
+        }
+        if (filter != null) {
+            stream.setItem(COSName.FILTER, filter);
+        }
+        page.setContents(new PDStream(stream));
+
+        PDResources resources = new PDResources();
+        resources.put(fontName, font);
+        if (xObjectName != null) {
+            resources.put(xObjectName, runningHead);
+        }
+        page.setResources(resources);
+    }
+}
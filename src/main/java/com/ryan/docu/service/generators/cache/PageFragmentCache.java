@@ -0,0 +1,58 @@
+package com.ryan.docu.service.generators.cache;
+
+import com.ryan.docu.service.generators.layout.LayoutLine;
+import com.ryan.docu.service.generators.layout.LayoutPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of rendered body pages, so re-rendering an edited document reuses every page whose content did not move.
+ * A page is keyed by its running head and the lines laid out on it, including their positions, which pins both
+ * the paragraphs on the page and where the layout started. Pages before the first edit, and pages after the
+ * layout re-converges, produce the same key and are copied instead of drawn. Evicts least recently used pages
+ * once the fragments exceed {@code docu.render.fragments.max-bytes}.
+ */
+@Component
+public class PageFragmentCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, PageFragment> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+
+    public PageFragmentCache(@Value("${docu.render.fragments.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public String keyOf(String runningHead, LayoutPage page) {
+        ContentHash hash = new ContentHash().add(runningHead).addInt(page.lines().size());
+        for (LayoutLine line : page.lines()) {
+            hash.add(line.text()).add(line.x()).add(line.y());
+        }
+        return hash.toHex();
+    }
+
+    public synchronized PageFragment get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, PageFragment fragment) {
+        if (fragment == null || fragment.rawContent().length > maxBytes) {
+            return;
+        }
+        PageFragment previous = entries.put(key, fragment);
+        if (previous != null) {
+            currentBytes -= previous.rawContent().length;
+        }
+        currentBytes += fragment.rawContent().length;
+
+        Iterator<Map.Entry<String, PageFragment>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            currentBytes -= iterator.next().getValue().rawContent().length;
+            iterator.remove();
+        }
+    }
+}
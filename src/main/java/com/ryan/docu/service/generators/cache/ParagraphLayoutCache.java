@@ -0,0 +1,38 @@
+package com.ryan.docu.service.generators.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers how paragraphs were wrapped into lines, so re-rendering an edited document only measures the
+ * paragraphs that changed. Holds at most {@code docu.render.paragraph-cache.max-entries} paragraphs, evicting
+ * the least recently used.
+ */
+@Component
+public class ParagraphLayoutCache {
+
+    private final LinkedHashMap<ParagraphKey, List<String>> entries;
+
+    public ParagraphLayoutCache(@Value("${docu.render.paragraph-cache.max-entries:10000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ParagraphKey, List<String>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized List<String> get(String paragraph, float maxWidth, boolean hasIndent) {
+        return entries.get(new ParagraphKey(paragraph, maxWidth, hasIndent));
+    }
+
+    public synchronized void put(String paragraph, float maxWidth, boolean hasIndent, List<String> lines) {
+        entries.put(new ParagraphKey(paragraph, maxWidth, hasIndent), List.copyOf(lines));
+    }
+
+    private record ParagraphKey(String paragraph, float maxWidth, boolean hasIndent) {}
+}
@@ -0,0 +1,144 @@
+package com.ryan.docu.service.generators.cache;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bounded in-memory cache of rendered documents, keyed by a hash of everything that goes into a render.
+ * Entries are evicted least-recently-used once the total size of the cached bytes exceeds the budget
+ * configured through {@code docu.render.cache.max-bytes}.
+ */
+@Component
+public class RenderCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, String> keysByDocument = new HashMap<>();
+    private final Map<String, Set<UUID>> documentsByKey = new HashMap<>();
+    private long currentBytes;
+
+    public RenderCache(@Value("${docu.render.cache.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Builds the cache key for a document from its render inputs (file type, format, header fields,
+     * body text and citations). A blank date renders as today's date, so today's date is part of the key.
+     */
+    public String keyOf(DocumentCreateDTO document) {
+        ContentHash hash = new ContentHash()
+                .add(document.getFileType() != null ? document.getFileType().name() : null)
+                .add(document.getFormat() != null ? document.getFormat().name() : null)
+                .add(document.getTitle())
+                .add(document.getName())
+                .add(document.getProfessorName())
+                .add(document.getClassTitle())
+                .add(document.getInstituteName())
+                .add(isBlank(document.getDate()) ? LocalDate.now().toString() : document.getDate())
+                .add(document.getBodyText());
+
+        List<String> citations = document.getCitations();
+        hash.addInt(citations != null ? citations.size() : -1);
+        if (citations != null) {
+            for (String citation : citations) {
+                hash.add(citation);
+            }
+        }
+        return hash.toHex();
+    }
+
+    public synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores the rendered bytes for a document. Renders larger than the whole budget are not cached.
+     */
+    public synchronized void put(UUID docId, String key, byte[] content) {
+        if (content == null || content.length > maxBytes) {
+            return;
+        }
+        String previousKey = keysByDocument.put(docId, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            unlink(docId, previousKey);
+            remove(previousKey);
+        }
+        documentsByKey.computeIfAbsent(key, k -> new HashSet<>()).add(docId);
+        byte[] previous = entries.put(key, content);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += content.length;
+        evict();
+    }
+
+    /**
+     * Drops the cached render of a document, used when the document is deleted.
+     */
+    public synchronized void invalidate(UUID docId) {
+        String key = keysByDocument.remove(docId);
+        if (key != null) {
+            unlink(docId, key);
+            remove(key);
+        }
+    }
+
+    synchronized int trackedDocuments() {
+        return keysByDocument.size();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, byte[]>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, byte[]> eldest = iterator.next();
+            currentBytes -= eldest.getValue().length;
+            iterator.remove();
+            forgetDocuments(eldest.getKey());
+        }
+    }
+
+    private void remove(String key) {
+        byte[] removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.length;
+        }
+        forgetDocuments(key);
+    }
+
+    /**
+     * Drops the document mappings of a key that is no longer cached, so they do not outlive the entry.
+     */
+    private void forgetDocuments(String key) {
+        Set<UUID> documents = documentsByKey.remove(key);
+        if (documents != null) {
+            for (UUID docId : documents) {
+                keysByDocument.remove(docId, key);
+            }
+        }
+    }
+
+    private void unlink(UUID docId, String key) {
+        Set<UUID> documents = documentsByKey.get(key);
+        if (documents != null) {
+            documents.remove(docId);
+            if (documents.isEmpty()) {
+                documentsByKey.remove(key);
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,290 @@
+package com.ryan.docu.service.generators.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * On-disk store of rendered documents, keyed by the same content hash as {@link RenderCache}, so renders
+ * survive restarts and are shared by every document with the same inputs. Files live in
+ * a subdirectory of {@code docu.render.store.dir} named after the render format version and the compact setting,
+ * so renders made by other generator versions or settings are never served. Files are evicted least-recently-used
+ * once they take more than {@code docu.render.store.max-bytes}. The last-modified time of a file records its last use,
+ * so the eviction order carries over restarts. The store also remembers which documents use each file since startup,
+ * and deletes a file once the last of them is deleted; files not used since startup are left to eviction.
+ */
+@Component
+public class RenderStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Bump whenever the generators change their output, so stored renders and render ETags of the old layout are
+    // not reused
+    public static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, String> keysByDocument = new HashMap<>();
+    private final Map<String, Set<UUID>> documentsByKey = new HashMap<>();
+    private long currentBytes;
+
+    public RenderStore(
+            @Value("${docu.render.store.dir:${java.io.tmpdir}/docu-render-store}") String directory,
+            @Value("${docu.render.store.max-bytes:1073741824}") long maxBytes,
+            @Value("${docu.render.compact.enabled:false}") boolean compact) {
+        this.directory = Path.of(directory).resolve("v" + FORMAT_VERSION + (compact ? "-compact" : ""));
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(this.directory);
+            loadIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open render store in " + this.directory, e);
+        }
+    }
+
+    /**
+     * The stored file for the key, or null if there is none.
+     */
+    public Path get(String key) {
+        synchronized (this) {
+            if (sizes.get(key) == null) {
+                return null;
+            }
+        }
+        Path file = directory.resolve(key);
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return file;
+        } catch (NoSuchFileException e) {
+            forget(key);
+            return null;
+        } catch (IOException e) {
+            return file;
+        }
+    }
+
+    /**
+     * The stored file for the key, or null if there is none, recording that the document uses it.
+     */
+    public Path get(UUID docId, String key) {
+        Path file = get(key);
+        if (file != null) {
+            synchronized (this) {
+                if (sizes.containsKey(key)) {
+                    link(docId, key);
+                }
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Stores a render of a document under its key, or only records that the document uses it if it is already
+     * stored. Renders larger than the whole store are not kept.
+     */
+    public void put(UUID docId, String key, byte[] content) {
+        if (content == null || content.length > maxBytes) {
+            return;
+        }
+        try {
+            write(docId, key, outputStream -> outputStream.write(content));
+        } catch (IOException e) {
+            // The store is only an optimisation, a failed write just means the next load renders again
+        }
+    }
+
+    /**
+     * Stores a render of a document by letting the writer write it straight into the store, so the render never
+     * has to be held in memory as a whole. The file is written next to its final name and moved into place, so
+     * readers never see a partial file. If the key is already stored the writer is not called.
+     *
+     * @return the stored file, or null if the store could not keep it (too large, or no room for a temp file)
+     * @throws IOException if the writer fails or the file cannot be written
+     */
+    public Path write(UUID docId, String key, ContentWriter writer) throws IOException {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            return null;
+        }
+        Path existing = get(docId, key);
+        if (existing != null) {
+            return existing;
+        }
+
+        Path temp;
+        try {
+            temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+        } catch (IOException e) {
+            return null;
+        }
+        Path file = directory.resolve(key);
+        long size;
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(outputStream);
+            }
+            size = Files.size(temp);
+            if (size > maxBytes) {
+                return null;
+            }
+            move(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        List<String> evicted;
+        synchronized (this) {
+            link(docId, key);
+            Long previous = sizes.put(key, size);
+            currentBytes += size - (previous != null ? previous : 0);
+            evicted = evict();
+        }
+        delete(evicted);
+        return file;
+    }
+
+    /**
+     * Forgets that the document uses its stored render and deletes the file if no other document is known to use
+     * it, used when the document is deleted.
+     */
+    public void invalidate(UUID docId) {
+        String unused = null;
+        synchronized (this) {
+            String key = keysByDocument.remove(docId);
+            Set<UUID> documents = key != null ? documentsByKey.get(key) : null;
+            if (documents != null) {
+                documents.remove(docId);
+                if (documents.isEmpty()) {
+                    forget(key);
+                    unused = key;
+                }
+            }
+        }
+        if (unused != null) {
+            delete(List.of(unused));
+        }
+    }
+
+    private void link(UUID docId, String key) {
+        String previousKey = keysByDocument.put(docId, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            Set<UUID> documents = documentsByKey.get(previousKey);
+            if (documents != null) {
+                documents.remove(docId);
+                if (documents.isEmpty()) {
+                    documentsByKey.remove(previousKey);
+                }
+            }
+        }
+        documentsByKey.computeIfAbsent(key, k -> new HashSet<>()).add(docId);
+    }
+
+    /**
+     * Drops the least recently used files from the index until the store fits its budget and returns their keys.
+     * The caller deletes the files outside the lock.
+     */
+    private List<String> evict() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iterator = sizes.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            currentBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+            iterator.remove();
+            forgetDocuments(eldest.getKey());
+        }
+        return evicted;
+    }
+
+    private void delete(List<String> keys) {
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(directory.resolve(key));
+            } catch (IOException ignored) {
+                // Picked up again by the next startup scan
+            }
+        }
+    }
+
+    private synchronized void forget(String key) {
+        Long size = sizes.remove(key);
+        if (size != null) {
+            currentBytes -= size;
+        }
+        forgetDocuments(key);
+    }
+
+    private void forgetDocuments(String key) {
+        Set<UUID> documents = documentsByKey.remove(key);
+        if (documents != null) {
+            for (UUID docId : documents) {
+                keysByDocument.remove(docId, key);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index from the directory, oldest use first, and clears out writes interrupted by a shutdown.
+     * If the files take more than the budget, for example after it was lowered, the oldest ones are deleted.
+     */
+    private void loadIndex() throws IOException {
+        record StoredFile(String key, long size, long lastUsed) {}
+        List<StoredFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (KEY_PATTERN.matcher(name).matches()) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    files.add(new StoredFile(name, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        }
+        files.sort(Comparator.comparingLong(StoredFile::lastUsed));
+        for (StoredFile file : files) {
+            sizes.put(file.key(), file.size());
+            currentBytes += file.size();
+        }
+        delete(evict());
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes a render into the store.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,178 @@
+package com.ryan.docu.service.generators.docx;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.enums.Format;
+import com.ryan.docu.service.generators.styles.ApaFormatter;
+import com.ryan.docu.service.generators.styles.MlaFormatter;
+import com.ryan.docu.service.generators.styles.StyleFormatter;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates DOCX files by writing the OOXML parts directly into a ZIP stream. No document model is built,
+ * so memory use stays flat regardless of document length. Headers come from the same {@link StyleFormatter}s
+ * as the PDF generator.
+ */
+@Service
+public class DocxGeneratorService {
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/word/document.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml"/>\
+            <Override PartName="/word/styles.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.styles+xml"/>\
+            <Override PartName="/word/header1.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.header+xml"/>\
+            </Types>""";
+
+    private static final String PACKAGE_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+            Target="word/document.xml"/>\
+            </Relationships>""";
+
+    private static final String DOCUMENT_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>\
+            <Relationship Id="rId2" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/header" Target="header1.xml"/>\
+            </Relationships>""";
+
+    // Times New Roman 12pt, double spaced, matching the PDF output
+    private static final String STYLES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <w:styles xmlns:w="http://schemas.openxmlformats.org/wordprocessingml/2006/main">\
+            <w:docDefaults>\
+            <w:rPrDefault><w:rPr>\
+            <w:rFonts w:ascii="Times New Roman" w:hAnsi="Times New Roman" w:eastAsia="Times New Roman" \
+            w:cs="Times New Roman"/>\
+            <w:sz w:val="24"/><w:szCs w:val="24"/>\
+            </w:rPr></w:rPrDefault>\
+            <w:pPrDefault><w:pPr><w:spacing w:after="0" w:line="480" w:lineRule="auto"/></w:pPr></w:pPrDefault>\
+            </w:docDefaults>\
+            <w:style w:type="paragraph" w:default="1" w:styleId="Normal"><w:name w:val="Normal"/></w:style>\
+            </w:styles>""";
+
+    private final Map<Format, StyleFormatter> formatters;
+
+    public DocxGeneratorService() {
+        formatters = new HashMap<>();
+        formatters.put(Format.MLA, new MlaFormatter());
+        formatters.put(Format.APA, new ApaFormatter());
+    }
+
+    /**
+     * Generates a new DOCX document based on the provided DocumentCreateDTO.
+     */
+    public byte[] generateDOCX(DocumentCreateDTO document) throws IOException {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            writeDOCX(document, outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Generates a new DOCX document and writes it straight into the given stream.
+     */
+    public void writeDOCX(DocumentCreateDTO document, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        writeStaticPart(zip, "[Content_Types].xml", CONTENT_TYPES);
+        writeStaticPart(zip, "_rels/.rels", PACKAGE_RELATIONSHIPS);
+        writeStaticPart(zip, "word/_rels/document.xml.rels", DOCUMENT_RELATIONSHIPS);
+        writeStaticPart(zip, "word/styles.xml", STYLES);
+
+        zip.putNextEntry(new ZipEntry("word/header1.xml"));
+        try (DocxWriter writer = DocxWriter.open(zip, "hdr")) {
+            writer.pageNumberParagraph(getRunningHeadPrefix(document));
+        }
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("word/document.xml"));
+        try (DocxWriter writer = DocxWriter.open(zip, "document")) {
+            writer.startElement("body");
+            getFormatter(document).writeDocxHeader(writer, document);
+            writeBodyText(writer, document);
+            writeWorksCited(writer, document);
+            writer.sectionProperties("rId2");
+            writer.endElement();
+        }
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeBodyText(DocxWriter writer, DocumentCreateDTO document) throws IOException {
+        String bodyText = document.getBodyText();
+        if (bodyText == null || bodyText.trim().isEmpty()) {
+            // Default placeholder if no body text provided
+            writer.bodyParagraph("Your text goes here! Add content to the bodyText field.", true);
+            return;
+        }
+
+        boolean shouldIndent = document.getFormat() == Format.MLA
+                || document.getFormat() == null
+                || document.getFormat() == Format.APA;
+        for (String paragraph : bodyText.split("\n+")) {
+            String trimmed = paragraph.trim();
+            if (!trimmed.isEmpty()) {
+                writer.bodyParagraph(trimmed.replaceAll("\\s+", " "), shouldIndent);
+            }
+        }
+    }
+
+    private void writeWorksCited(DocxWriter writer, DocumentCreateDTO document) throws IOException {
+        writer.pageBreak();
+        writer.paragraph(getFormatter(document).getCitationTitle(), DocxWriter.Alignment.CENTER, true);
+
+        List<String> citations = document.getCitations();
+        if (citations != null) {
+            for (String citation : citations) {
+                writer.hangingParagraph(citation);
+            }
+        }
+    }
+
+    private StyleFormatter getFormatter(DocumentCreateDTO document) {
+        Format format = document.getFormat() != null ? document.getFormat() : Format.MLA;
+        StyleFormatter formatter = formatters.get(format);
+        return formatter != null ? formatter : formatters.get(Format.MLA);
+    }
+
+    /**
+     * MLA running heads carry the author's last name before the page number, other formats only the number.
+     */
+    private String getRunningHeadPrefix(DocumentCreateDTO document) {
+        if (document.getFormat() != Format.MLA) {
+            return "";
+        }
+        String name = document.getName();
+        if (name == null || name.trim().isEmpty() || name.equals("[INSERT NAME]")) {
+            return "[NAME] ";
+        }
+        String[] nameParts = name.trim().split("\\s+");
+        return nameParts[nameParts.length - 1] + " ";
+    }
+
+    private void writeStaticPart(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
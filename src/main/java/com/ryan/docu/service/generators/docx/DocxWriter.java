@@ -0,0 +1,217 @@
+package com.ryan.docu.service.generators.docx;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes WordprocessingML paragraphs straight into an output stream with a StAX writer,
+ * so a DOCX part is produced without building a document model in memory.
+ */
+public class DocxWriter implements AutoCloseable {
+
+    static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    static final String R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final XMLStreamWriter xml;
+
+    public enum Alignment {
+        LEFT("left"),
+        CENTER("center"),
+        RIGHT("right");
+
+        private final String value;
+
+        Alignment(String value) {
+            this.value = value;
+        }
+    }
+
+    private DocxWriter(XMLStreamWriter xml) {
+        this.xml = xml;
+    }
+
+    /**
+     * Starts a part whose root element is {@code w:<rootElement>}. The underlying stream is not closed by {@link #close()}.
+     */
+    static DocxWriter open(OutputStream outputStream, String rootElement) throws IOException {
+        try {
+            XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.setPrefix("w", W);
+            xml.setPrefix("r", R);
+            xml.writeStartElement(W, rootElement);
+            xml.writeNamespace("w", W);
+            xml.writeNamespace("r", R);
+            return new DocxWriter(xml);
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not start DOCX part", e);
+        }
+    }
+
+    /**
+     * A single-run paragraph with the given alignment.
+     */
+    public void paragraph(String text, Alignment alignment, boolean bold) throws IOException {
+        writeParagraph(text, alignment, bold, 0, 0);
+    }
+
+    /**
+     * A left-aligned body paragraph, optionally with the first line indented by half an inch.
+     */
+    public void bodyParagraph(String text, boolean indentFirstLine) throws IOException {
+        writeParagraph(text, Alignment.LEFT, false, indentFirstLine ? 720 : 0, 0);
+    }
+
+    /**
+     * A paragraph with a half inch hanging indent, as used for citations.
+     */
+    public void hangingParagraph(String text) throws IOException {
+        writeParagraph(text, Alignment.LEFT, false, 0, 720);
+    }
+
+    public void emptyParagraph() throws IOException {
+        try {
+            xml.writeEmptyElement(W, "p");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    public void pageBreak() throws IOException {
+        try {
+            xml.writeStartElement(W, "p");
+            xml.writeStartElement(W, "r");
+            xml.writeEmptyElement(W, "br");
+            xml.writeAttribute(W, "type", "page");
+            xml.writeEndElement();
+            xml.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * A right-aligned paragraph holding the given text followed by the current page number.
+     */
+    void pageNumberParagraph(String prefix) throws IOException {
+        try {
+            xml.writeStartElement(W, "p");
+            writeParagraphProperties(Alignment.RIGHT, 0, 0);
+            if (!prefix.isEmpty()) {
+                writeRun(prefix, false);
+            }
+            xml.writeStartElement(W, "fldSimple");
+            xml.writeAttribute(W, "instr", "PAGE");
+            writeRun("1", false);
+            xml.writeEndElement();
+            xml.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Letter-sized section with one inch margins and the given default header.
+     */
+    void sectionProperties(String headerRelationshipId) throws IOException {
+        try {
+            xml.writeStartElement(W, "sectPr");
+            xml.writeEmptyElement(W, "headerReference");
+            xml.writeAttribute(W, "type", "default");
+            xml.writeAttribute(R, "id", headerRelationshipId);
+            xml.writeEmptyElement(W, "pgSz");
+            xml.writeAttribute(W, "w", "12240");
+            xml.writeAttribute(W, "h", "15840");
+            xml.writeEmptyElement(W, "pgMar");
+            xml.writeAttribute(W, "top", "1440");
+            xml.writeAttribute(W, "right", "1440");
+            xml.writeAttribute(W, "bottom", "1440");
+            xml.writeAttribute(W, "left", "1440");
+            xml.writeAttribute(W, "header", "720");
+            xml.writeAttribute(W, "footer", "720");
+            xml.writeAttribute(W, "gutter", "0");
+            xml.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    void startElement(String localName) throws IOException {
+        try {
+            xml.writeStartElement(W, localName);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    void endElement() throws IOException {
+        try {
+            xml.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not finish DOCX part", e);
+        }
+    }
+
+    private void writeParagraph(String text, Alignment alignment, boolean bold, int firstLine, int hanging)
+            throws IOException {
+        try {
+            xml.writeStartElement(W, "p");
+            writeParagraphProperties(alignment, firstLine, hanging);
+            writeRun(text, bold);
+            xml.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void writeParagraphProperties(Alignment alignment, int firstLine, int hanging) throws XMLStreamException {
+        if (alignment == Alignment.LEFT && firstLine == 0 && hanging == 0) {
+            return;
+        }
+        xml.writeStartElement(W, "pPr");
+        if (firstLine > 0 || hanging > 0) {
+            xml.writeEmptyElement(W, "ind");
+            if (hanging > 0) {
+                xml.writeAttribute(W, "left", Integer.toString(hanging));
+                xml.writeAttribute(W, "hanging", Integer.toString(hanging));
+            } else {
+                xml.writeAttribute(W, "firstLine", Integer.toString(firstLine));
+            }
+        }
+        if (alignment != Alignment.LEFT) {
+            xml.writeEmptyElement(W, "jc");
+            xml.writeAttribute(W, "val", alignment.value);
+        }
+        xml.writeEndElement();
+    }
+
+    private void writeRun(String text, boolean bold) throws XMLStreamException {
+        xml.writeStartElement(W, "r");
+        if (bold) {
+            xml.writeStartElement(W, "rPr");
+            xml.writeEmptyElement(W, "b");
+            xml.writeEndElement();
+        }
+        xml.writeStartElement(W, "t");
+        xml.writeAttribute("xml", "http://www.w3.org/XML/1998/namespace", "space", "preserve");
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+}
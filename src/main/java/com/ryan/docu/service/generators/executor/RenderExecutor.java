@@ -0,0 +1,133 @@
+package com.ryan.docu.service.generators.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated pool for CPU-bound document rendering, so renders never run on (and pin) request threads.
+ * Concurrency and queue size are bounded through {@code docu.render.concurrency} and
+ * {@code docu.render.queue-capacity}; when the queue is full renders are rejected straight away
+ * with a {@link RenderRejectedException} instead of piling up.
+ */
+@Component
+public class RenderExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public RenderExecutor(
+            @Value("${docu.render.concurrency:0}") int concurrency,
+            @Value("${docu.render.queue-capacity:64}") int queueCapacity,
+            @Value("${docu.render.retry-after-seconds:5}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "docu-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.waitTimer = Timer.builder("docu.render.queue.wait")
+                .description("Time renders spend queued before a render thread picks them up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("docu.render.rejected")
+                .description("Renders rejected because the render queue was full")
+                .register(meterRegistry);
+        Gauge.builder("docu.render.queue.depth", executor, e -> e.getQueue().size())
+                .description("Renders waiting for a render thread")
+                .register(meterRegistry);
+        Gauge.builder("docu.render.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Renders currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the task on the render pool and waits for its result.
+     *
+     * @throws RenderRejectedException if the render queue is full
+     */
+    public <T> T render(RenderTask<T> task) throws IOException {
+        CompletableFuture<T> future = submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for render");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Render failed", cause);
+        }
+    }
+
+    /**
+     * Queues the task on the render pool without waiting for it.
+     *
+     * @throws RenderRejectedException if the render queue is full
+     */
+    public <T> CompletableFuture<T> submit(RenderTask<T> task) {
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new RenderRejectedException("Render queue is full, try again later", retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * A unit of render work.
+     */
+    @FunctionalInterface
+    public interface RenderTask<T> {
+        T call() throws IOException;
+    }
+}
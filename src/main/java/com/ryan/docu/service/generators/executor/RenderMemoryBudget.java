@@ -0,0 +1,95 @@
+package com.ryan.docu.service.generators.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the heap PDF renders use for their scratch data. Each render may keep up to
+ * {@code docu.render.memory.per-render-bytes} of stream data in memory before spilling to temp files
+ * (in {@code docu.render.memory.temp-dir}, or the system temp directory when blank). All in-flight renders together
+ * may hold at most {@code docu.render.memory.max-bytes}; a render that does not fit in what is left of the budget
+ * does not wait for it, and keeps its scratch data in temp files only.
+ */
+@Component
+public class RenderMemoryBudget {
+
+    private static final int PERMIT_BYTES = 1024;
+
+    private final long perRenderBytes;
+    private final int permitsPerRender;
+    private final int totalPermits;
+    private final Semaphore budget;
+    private final File tempDir;
+    private final Counter spilledCounter;
+
+    public RenderMemoryBudget(
+            @Value("${docu.render.memory.per-render-bytes:8388608}") long perRenderBytes,
+            @Value("${docu.render.memory.max-bytes:134217728}") long maxBytes,
+            @Value("${docu.render.memory.temp-dir:}") String tempDir,
+            MeterRegistry meterRegistry) {
+        if (perRenderBytes <= 0 || maxBytes < perRenderBytes) {
+            throw new IllegalArgumentException("Render memory budget must hold at least one render");
+        }
+        this.perRenderBytes = perRenderBytes;
+        this.permitsPerRender = (int) Math.min(Integer.MAX_VALUE, (perRenderBytes + PERMIT_BYTES - 1) / PERMIT_BYTES);
+        this.totalPermits = (int) Math.min(Integer.MAX_VALUE, maxBytes / PERMIT_BYTES);
+        this.budget = new Semaphore(totalPermits);
+        this.tempDir = tempDir == null || tempDir.isBlank() ? null : new File(tempDir);
+
+        this.spilledCounter = Counter.builder("docu.render.memory.spilled")
+                .description("Renders that spilled straight to temp files because the memory budget was used up")
+                .register(meterRegistry);
+        Gauge.builder("docu.render.memory.reserved", budget, b -> (double) (totalPermits - b.availablePermits()) * PERMIT_BYTES)
+                .description("Bytes of the render memory budget reserved by in-flight renders")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves memory for one render. Close the reservation once the document it created is closed.
+     */
+    public Reservation reserve() {
+        if (budget.tryAcquire(permitsPerRender)) {
+            return new Reservation(MemoryUsageSetting.setupMixed(perRenderBytes), permitsPerRender);
+        }
+        spilledCounter.increment();
+        return new Reservation(MemoryUsageSetting.setupTempFileOnly(), 0);
+    }
+
+    /**
+     * Memory reserved for one render, released when closed.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final MemoryUsageSetting memoryUsage;
+        private int permits;
+
+        private Reservation(MemoryUsageSetting memoryUsage, int permits) {
+            this.memoryUsage = tempDir != null ? memoryUsage.setTempDir(tempDir) : memoryUsage;
+            this.permits = permits;
+        }
+
+        /**
+         * Creates a new document whose scratch data stays within this reservation.
+         */
+        public PDDocument newDocument() {
+            return new PDDocument(memoryUsage.streamCache);
+        }
+
+        @Override
+        public void close() {
+            if (permits > 0) {
+                budget.release(permits);
+                permits = 0;
+            }
+        }
+    }
+}
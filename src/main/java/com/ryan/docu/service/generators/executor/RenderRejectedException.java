@@ -0,0 +1,17 @@
+package com.ryan.docu.service.generators.executor;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the render queue is full and a render cannot be accepted right now.
+ */
+@Getter
+public class RenderRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RenderRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
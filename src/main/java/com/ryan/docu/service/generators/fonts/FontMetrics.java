@@ -0,0 +1,104 @@
+package com.ryan.docu.service.generators.fonts;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Glyph widths of a Standard 14 font, loaded once into a table indexed by character.
+ * Measuring a string is a plain sum over the table, so it needs no allocation and no font lookups.
+ * Characters the font's encoding does not cover fall back to PDFBox, which keeps its error behaviour.
+ */
+public final class FontMetrics {
+
+    public static final FontMetrics TIMES_ROMAN = new FontMetrics(Standard14Fonts.FontName.TIMES_ROMAN);
+    public static final FontMetrics TIMES_BOLD = new FontMetrics(Standard14Fonts.FontName.TIMES_BOLD);
+
+    private final PDType1Font font;
+    private final float[] widths;
+
+    private FontMetrics(Standard14Fonts.FontName fontName) {
+        this.font = new PDType1Font(fontName);
+        this.widths = loadWidths(font);
+    }
+
+    public PDType1Font getFont() {
+        return font;
+    }
+
+    /**
+     * The metrics of one of the fonts above matching the given font, or null if it is not one of them.
+     */
+    public static FontMetrics forFont(PDFont font) {
+        if (TIMES_ROMAN.font.getName().equals(font.getName())) {
+            return TIMES_ROMAN;
+        } else if (TIMES_BOLD.font.getName().equals(font.getName())) {
+            return TIMES_BOLD;
+        }
+        return null;
+    }
+
+    /**
+     * Width of the text at the given font size, in PDF user space units.
+     */
+    public float getWidth(CharSequence text, float fontSize) throws IOException {
+        return getWidth(text, 0, text.length(), fontSize);
+    }
+
+    /**
+     * Width of the characters between {@code start} (inclusive) and {@code end} (exclusive) at the given font size.
+     */
+    public float getWidth(CharSequence text, int start, int end, float fontSize) throws IOException {
+        return getStringWidth(text, start, end) / 1000 * fontSize;
+    }
+
+    /**
+     * Width of the characters between {@code start} and {@code end} in glyph space (1/1000 of the font size),
+     * the same unit as {@link PDType1Font#getStringWidth(String)}.
+     */
+    public float getStringWidth(CharSequence text, int start, int end) throws IOException {
+        float width = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            float glyphWidth = c < widths.length ? widths[c] : Float.NaN;
+            if (Float.isNaN(glyphWidth)) {
+                glyphWidth = font.getStringWidth(String.valueOf(c));
+            }
+            width += glyphWidth;
+        }
+        return width;
+    }
+
+    private static float[] loadWidths(PDType1Font font) {
+        try {
+            Map<Integer, String> codeToName = font.getEncoding().getCodeToNameMap();
+            GlyphList glyphList = GlyphList.getAdobeGlyphList();
+
+            int maxChar = 0;
+            for (String name : codeToName.values()) {
+                String unicode = glyphList.toUnicode(name);
+                if (unicode != null && unicode.length() == 1) {
+                    maxChar = Math.max(maxChar, unicode.charAt(0));
+                }
+            }
+
+            float[] table = new float[maxChar + 1];
+            Arrays.fill(table, Float.NaN);
+            for (Map.Entry<Integer, String> entry : codeToName.entrySet()) {
+                String unicode = glyphList.toUnicode(entry.getValue());
+                if (unicode != null && unicode.length() == 1 && Float.isNaN(table[unicode.charAt(0)])) {
+                    table[unicode.charAt(0)] = font.getWidth(entry.getKey());
+                }
+            }
+            return table;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load metrics for " + font.getName(), e);
+        }
+    }
+}
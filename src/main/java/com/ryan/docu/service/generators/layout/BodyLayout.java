@@ -0,0 +1,9 @@
+package com.ryan.docu.service.generators.layout;
+
+import java.util.List;
+
+/**
+ * The laid out body of a document. The first page continues the page the header was written on,
+ * every following page is a new page. {@code finalY} is the position after the last line.
+ */
+public record BodyLayout(List<LayoutPage> pages, float finalY) {}
@@ -0,0 +1,86 @@
+package com.ryan.docu.service.generators.layout;
+
+import com.ryan.docu.service.generators.cache.ParagraphLayoutCache;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays out body paragraphs into lines and pages in a single measuring pass.
+ * Paragraphs are split across pages line by line, so a long paragraph fills the rest of a page
+ * instead of moving to the next one as a whole. Wrapped paragraphs are remembered in a {@link ParagraphLayoutCache},
+ * so unchanged paragraphs are not measured again when an edited document is re-rendered.
+ */
+public class BodyLayoutEngine {
+
+    private final TextWrapper textWrapper;
+    private final ParagraphLayoutCache paragraphCache;
+    private final float margin;
+    private final float lineHeight;
+    private final float paragraphIndent;
+    private final float bottomLimit;
+    private final float continuationOffset;
+
+    /**
+     * @param textWrapper          Wraps paragraphs into lines
+     * @param paragraphCache       Remembers wrapped paragraphs across renders
+     * @param margin               Left/right and top margin
+     * @param lineHeight           Distance between baselines
+     * @param paragraphIndent      First line indent of indented paragraphs
+     * @param bottomLimit          Lowest position the bottom of a line may reach
+     * @param continuationOffset   Distance from the top margin to the first line of a new page
+     */
+    public BodyLayoutEngine(
+            TextWrapper textWrapper,
+            ParagraphLayoutCache paragraphCache,
+            float margin,
+            float lineHeight,
+            float paragraphIndent,
+            float bottomLimit,
+            float continuationOffset) {
+        this.textWrapper = textWrapper;
+        this.paragraphCache = paragraphCache;
+        this.margin = margin;
+        this.lineHeight = lineHeight;
+        this.paragraphIndent = paragraphIndent;
+        this.bottomLimit = bottomLimit;
+        this.continuationOffset = continuationOffset;
+    }
+
+    /**
+     * Lays out the paragraphs starting one line below {@code startY} on the current page.
+     */
+    public BodyLayout layout(
+            List<String> paragraphs, float startY, float pageWidth, float pageHeight, boolean indentFirstLine)
+            throws IOException {
+        float maxWidth = pageWidth - (2 * margin);
+        float yPosition = startY - lineHeight;
+
+        List<LayoutPage> pages = new ArrayList<>();
+        List<LayoutLine> currentLines = new ArrayList<>();
+        pages.add(new LayoutPage(currentLines));
+
+        for (String paragraph : paragraphs) {
+            List<String> lines = paragraphCache.get(paragraph, maxWidth, indentFirstLine);
+            if (lines == null) {
+                lines = textWrapper.wrap(paragraph, maxWidth, indentFirstLine);
+                paragraphCache.put(paragraph, maxWidth, indentFirstLine, lines);
+            }
+            for (int i = 0; i < lines.size(); i++) {
+                if (yPosition - lineHeight < bottomLimit) {
+                    currentLines = new ArrayList<>();
+                    pages.add(new LayoutPage(currentLines));
+                    yPosition = pageHeight - margin - continuationOffset;
+                }
+
+                float xPosition = margin;
+                if (i == 0 && indentFirstLine) {
+                    xPosition += paragraphIndent;
+                }
+                currentLines.add(new LayoutLine(lines.get(i), xPosition, yPosition));
+                yPosition -= lineHeight;
+            }
+        }
+        return new BodyLayout(pages, yPosition);
+    }
+}
@@ -0,0 +1,6 @@
+package com.ryan.docu.service.generators.layout;
+
+/**
+ * A single line of text and the position its baseline starts at.
+ */
+public record LayoutLine(String text, float x, float y) {}
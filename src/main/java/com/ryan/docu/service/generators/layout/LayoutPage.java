@@ -0,0 +1,8 @@
+package com.ryan.docu.service.generators.layout;
+
+import java.util.List;
+
+/**
+ * The body lines that land on one page.
+ */
+public record LayoutPage(List<LayoutLine> lines) {}
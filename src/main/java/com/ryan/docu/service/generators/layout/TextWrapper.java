@@ -0,0 +1,90 @@
+package com.ryan.docu.service.generators.layout;
+
+import com.ryan.docu.service.generators.fonts.FontMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Greedy word wrapping against a font's precomputed metrics. Words are separated by runs of whitespace,
+ * which are collapsed to single spaces in the wrapped lines.
+ */
+public class TextWrapper {
+
+    private final FontMetrics metrics;
+    private final float fontSize;
+    private final float paragraphIndent;
+
+    public TextWrapper(FontMetrics metrics, float fontSize, float paragraphIndent) {
+        this.metrics = metrics;
+        this.fontSize = fontSize;
+        this.paragraphIndent = paragraphIndent;
+    }
+
+    /**
+     * Splits the text into lines no wider than {@code maxWidth}. When {@code hasIndent} is set the first line
+     * is shortened by the paragraph indent. A single word wider than the line is kept on a line of its own.
+     */
+    public List<String> wrap(String text, float maxWidth, boolean hasIndent) throws IOException {
+        List<String> lines = new ArrayList<>();
+        float spaceWidth = metrics.getStringWidth(" ", 0, 1);
+        StringBuilder currentLine = new StringBuilder();
+        float currentLineWidth = 0; // glyph space units, like PDFont.getStringWidth
+        boolean isFirstLine = true;
+
+        int wordStart = nextWordStart(text, 0);
+        while (wordStart < text.length()) {
+            int wordEnd = wordEnd(text, wordStart);
+            float wordWidth = metrics.getStringWidth(text, wordStart, wordEnd);
+            float testLineWidth = currentLine.isEmpty() ? wordWidth : currentLineWidth + spaceWidth + wordWidth;
+            float effectiveMaxWidth = (isFirstLine && hasIndent) ? maxWidth - paragraphIndent : maxWidth;
+
+            if (testLineWidth / 1000 * fontSize <= effectiveMaxWidth) {
+                if (!currentLine.isEmpty()) {
+                    currentLine.append(' ');
+                }
+                currentLine.append(text, wordStart, wordEnd);
+                currentLineWidth = testLineWidth;
+            } else {
+                if (!currentLine.isEmpty()) {
+                    lines.add(currentLine.toString());
+                    currentLine.setLength(0);
+                    currentLine.append(text, wordStart, wordEnd);
+                    currentLineWidth = wordWidth;
+                } else {
+                    lines.add(text.substring(wordStart, wordEnd));
+                }
+                isFirstLine = false;
+            }
+            wordStart = nextWordStart(text, wordEnd);
+        }
+
+        if (!currentLine.isEmpty()) {
+            lines.add(currentLine.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Index of the first non-whitespace character at or after {@code from}, or the text length if there is none.
+     */
+    private int nextWordStart(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Index just past the word starting at {@code start}.
+     */
+    private int wordEnd(String text, int start) {
+        int i = start;
+        while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
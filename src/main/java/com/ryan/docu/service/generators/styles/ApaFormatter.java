@@ -1,9 +1,10 @@
 package com.ryan.docu.service.generators.styles;
 
 import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.service.generators.docx.DocxWriter;
+import com.ryan.docu.service.generators.fonts.FontMetrics;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -12,7 +13,9 @@ import java.time.format.DateTimeFormatter;
 public class ApaFormatter implements StyleFormatter {
 
     private static final float DOUBLE_SPACE = 24f; // Double-spacing
-    private static final PDType1Font FONT = new PDType1Font(Standard14Fonts.FontName.TIMES_ROMAN);
+    private static final FontMetrics METRICS = FontMetrics.TIMES_ROMAN;
+    private static final PDType1Font FONT = METRICS.getFont();
+    private static final PDType1Font BOLD_FONT = FontMetrics.TIMES_BOLD.getFont();
     private static final float FONT_SIZE = 12f;
 
     @Override
@@ -28,7 +31,7 @@ public class ApaFormatter implements StyleFormatter {
         String title = getValueOrDefault(document.getTitle(), "[PAPER TITLE]");
         float titleWidth = textWidth(title);
         contentStream.beginText();
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.TIMES_BOLD), FONT_SIZE);
+        contentStream.setFont(BOLD_FONT, FONT_SIZE);
         contentStream.newLineAtOffset(centerX - (titleWidth / 2), startY);
         contentStream.showText(title);
         contentStream.endText();
@@ -36,7 +39,7 @@ public class ApaFormatter implements StyleFormatter {
 
         // Author Name(s) - centered
         String authorName = getValueOrDefault(document.getName(), "[AUTHOR NAME]");
-        float authorWidth = FONT.getStringWidth(authorName) / 1000 * FONT_SIZE;
+        float authorWidth = textWidth(authorName);
         contentStream.beginText();
         contentStream.setFont(FONT, FONT_SIZE);
         contentStream.newLineAtOffset(centerX - (authorWidth / 2), startY);
@@ -46,7 +49,7 @@ public class ApaFormatter implements StyleFormatter {
 
         // Institutional Affiliation - centered
         String institution = getValueOrDefault(document.getInstituteName(), "[INSTITUTIONAL AFFILIATION]");
-        float institutionWidth = FONT.getStringWidth(institution) / 1000 * FONT_SIZE;
+        float institutionWidth = textWidth(institution);
         contentStream.beginText();
         contentStream.newLineAtOffset(centerX - (institutionWidth / 2), startY);
         contentStream.showText(institution);
@@ -83,6 +86,31 @@ public class ApaFormatter implements StyleFormatter {
         return startY - (DOUBLE_SPACE * 8);
     }
 
+    @Override
+    public void writeDocxHeader(DocxWriter writer, DocumentCreateDTO document) throws IOException {
+        // Start from upper third of the page for title page elements
+        for (int i = 0; i < 3; i++) {
+            writer.emptyParagraph();
+        }
+        writer.paragraph(getValueOrDefault(document.getTitle(), "[PAPER TITLE]"), DocxWriter.Alignment.CENTER, true);
+        writer.emptyParagraph();
+        writer.paragraph(getValueOrDefault(document.getName(), "[AUTHOR NAME]"), DocxWriter.Alignment.CENTER, false);
+        writer.paragraph(
+                getValueOrDefault(document.getInstituteName(), "[INSTITUTIONAL AFFILIATION]"),
+                DocxWriter.Alignment.CENTER,
+                false);
+        writer.paragraph(
+                getValueOrDefault(document.getClassTitle(), "[COURSE NAME]"), DocxWriter.Alignment.CENTER, false);
+        writer.paragraph(
+                getValueOrDefault(document.getProfessorName(), "[INSTRUCTOR NAME]"),
+                DocxWriter.Alignment.CENTER,
+                false);
+        writer.paragraph(formatDate(document), DocxWriter.Alignment.CENTER, false);
+
+        // APA body text starts on the page after the title page
+        writer.pageBreak();
+    }
+
     @Override
     public String getCitationTitle() {
         return "References";
@@ -99,7 +127,7 @@ public class ApaFormatter implements StyleFormatter {
      * Helper method to reduce boilerplate code.
      */
     private float textWidth(String text) throws IOException {
-        return FONT.getStringWidth(text) / 1000 * FONT_SIZE;
+        return METRICS.getWidth(text, FONT_SIZE);
     }
 
     /**
@@ -1,9 +1,10 @@
 package com.ryan.docu.service.generators.styles;
 
 import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.service.generators.docx.DocxWriter;
+import com.ryan.docu.service.generators.fonts.FontMetrics;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -13,7 +14,8 @@ public class MlaFormatter implements StyleFormatter {
 
     private static final float MARGIN = 72f; // 1 inch margin
     private static final float DOUBLE_SPACE = 24f; // Double-spacing
-    private static final PDType1Font FONT = new PDType1Font(Standard14Fonts.FontName.TIMES_ROMAN);
+    private static final FontMetrics METRICS = FontMetrics.TIMES_ROMAN;
+    private static final PDType1Font BOLD_FONT = FontMetrics.TIMES_BOLD.getFont();
     private static final float FONT_SIZE = 12f;
 
     @Override
@@ -51,10 +53,10 @@ public class MlaFormatter implements StyleFormatter {
 
         // Title (Bolded)
         String title = getValueOrDefault(document.getTitle(), "[TITLE]");
-        float titleWidth = FONT.getStringWidth(title) / 1000 * FONT_SIZE;
+        float titleWidth = METRICS.getWidth(title, FONT_SIZE);
         float centerX = (pageWidth - titleWidth) / 2;
         contentStream.beginText();
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.TIMES_BOLD), FONT_SIZE);
+        contentStream.setFont(BOLD_FONT, FONT_SIZE);
         contentStream.newLineAtOffset(centerX, yPosition);
         contentStream.showText(title);
         contentStream.endText();
@@ -63,6 +65,19 @@ public class MlaFormatter implements StyleFormatter {
         return yPosition;
     }
 
+    @Override
+    public void writeDocxHeader(DocxWriter writer, DocumentCreateDTO document) throws IOException {
+        writer.paragraph(getValueOrDefault(document.getName(), "[INSERT NAME]"), DocxWriter.Alignment.LEFT, false);
+        writer.paragraph(
+                getValueOrDefault(document.getProfessorName(), "[INSERT INSTRUCTOR NAME]"),
+                DocxWriter.Alignment.LEFT,
+                false);
+        writer.paragraph(getValueOrDefault(document.getClassTitle(), "[CLASS NAME]"), DocxWriter.Alignment.LEFT, false);
+        writer.paragraph(formatDate(document), DocxWriter.Alignment.LEFT, false);
+        writer.emptyParagraph(); // Extra space before title
+        writer.paragraph(getValueOrDefault(document.getTitle(), "[TITLE]"), DocxWriter.Alignment.CENTER, true);
+    }
+
     @Override
     public String getCitationTitle() {
         return "Works Cited";
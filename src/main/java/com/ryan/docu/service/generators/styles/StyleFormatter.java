@@ -1,6 +1,7 @@
 package com.ryan.docu.service.generators.styles;
 
 import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.service.generators.docx.DocxWriter;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 
 import java.io.IOException;
@@ -9,5 +10,7 @@ public interface StyleFormatter {
     float writeHeader(PDPageContentStream contentStream, DocumentCreateDTO document, float yPosition, float pageCenter)
             throws IOException;
 
+    void writeDocxHeader(DocxWriter writer, DocumentCreateDTO document) throws IOException;
+
     String getCitationTitle();
 }
@@ -0,0 +1,156 @@
+package com.ryan.docu.controller;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.dto.DocumentDTO;
+import com.ryan.docu.model.dto.DocumentImportResultDTO;
+import com.ryan.docu.model.enums.FileType;
+import com.ryan.docu.service.DocumentExportService;
+import com.ryan.docu.service.DocumentImportService;
+import com.ryan.docu.service.DocumentService;
+import com.ryan.docu.util.AuthenticationUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DocumentControllerTest {
+
+    private static final byte[] PDF = "%PDF-1.7 streamed document".getBytes(StandardCharsets.US_ASCII);
+
+    private final UUID userId = UUID.randomUUID();
+    private final DocumentService documentService = mock(DocumentService.class);
+    private final DocumentExportService documentExportService = mock(DocumentExportService.class);
+    private final DocumentImportService documentImportService = mock(DocumentImportService.class);
+    private final AuthenticationUtil authUtil = mock(AuthenticationUtil.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+                    new DocumentController(documentService, documentExportService, documentImportService, authUtil))
+            .build();
+
+    @Test
+    void refusesToExportAnotherUsersDocuments() throws Exception {
+        when(authUtil.isUserUnauthorized(userId)).thenReturn(true);
+
+        mockMvc.perform(get("/api/document/export/{userId}", userId)).andExpect(status().isForbidden());
+
+        verifyNoInteractions(documentService, documentExportService);
+    }
+
+    @Test
+    void exportsTheAuthenticatedUsersDocuments() throws Exception {
+        when(authUtil.isUserUnauthorized(userId)).thenReturn(false);
+        when(documentService.findRenderableDocuments(userId, null)).thenReturn(Map.<UUID, DocumentCreateDTO>of());
+
+        mockMvc.perform(get("/api/document/export/{userId}", userId)).andExpect(request().asyncStarted());
+
+        verify(documentService).findRenderableDocuments(any(), any());
+    }
+
+    @Test
+    void refusesToImportIntoAnotherUsersAccount() throws Exception {
+        when(authUtil.isUserUnauthorized(userId)).thenReturn(true);
+
+        mockMvc.perform(post("/api/document/import/{userId}", userId)
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Essay\",\"format\":\"MLA\",\"fileType\":\"PDF\"}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(documentImportService);
+    }
+
+    @Test
+    void importsForTheAuthenticatedUser() throws Exception {
+        when(authUtil.isUserUnauthorized(userId)).thenReturn(false);
+        when(documentImportService.importDocuments(any(), any()))
+                .thenReturn(new DocumentImportResultDTO(1, 1, List.of("line 2: title must not be blank")));
+
+        mockMvc.perform(post("/api/document/import/{userId}", userId)
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Essay\",\"format\":\"MLA\",\"fileType\":\"PDF\"}\n{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("line 2: title must not be blank"));
+    }
+
+    @Test
+    void answersNotModifiedWhileTheDocumentVersionIsUnchanged() throws Exception {
+        UUID docId = UUID.randomUUID();
+        when(documentService.getDocumentETag(docId)).thenReturn("\"" + docId + "-1\"");
+
+        mockMvc.perform(get("/api/document/{docId}", docId).header("If-None-Match", "\"" + docId + "-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + docId + "-1\""));
+
+        verify(documentService, never()).getDocument(any());
+    }
+
+    @Test
+    void returnsTheDocumentOnceItsVersionMovesOn() throws Exception {
+        UUID docId = UUID.randomUUID();
+        when(documentService.getDocumentETag(docId)).thenReturn("\"" + docId + "-2\"");
+        when(documentService.getDocument(docId)).thenReturn(new DocumentDTO());
+
+        mockMvc.perform(get("/api/document/{docId}", docId).header("If-None-Match", "\"" + docId + "-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + docId + "-2\""));
+    }
+
+    @Test
+    void answersNotModifiedForAnUnchangedRenderWithoutLoadingIt() throws Exception {
+        UUID docId = UUID.randomUUID();
+        String eTag = "\"" + docId + "-1-PDF-r1\"";
+        when(documentService.getRenderETag(userId, docId)).thenReturn(eTag);
+
+        mockMvc.perform(get("/api/document/generate/{userId}/{docId}", userId, docId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        verify(documentService, never()).findRenderableDocument(any(), any());
+    }
+
+    @Test
+    void streamsADocumentIntoTheResponse() throws Exception {
+        UUID docId = UUID.randomUUID();
+        DocumentCreateDTO documentInfo = new DocumentCreateDTO();
+        documentInfo.setFileType(FileType.PDF);
+        when(documentService.findRenderableDocument(userId, docId)).thenReturn(documentInfo);
+        doAnswer(invocation -> {
+                    invocation.getArgument(2, OutputStream.class).write(PDF);
+                    return null;
+                })
+                .when(documentService)
+                .writeDocument(eq(docId), eq(documentInfo), any());
+
+        MvcResult result = mockMvc.perform(get("/api/document/generate/{userId}/{docId}/stream", userId, docId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/pdf"))
+                .andExpect(content().bytes(PDF));
+    }
+}
@@ -0,0 +1,49 @@
+package com.ryan.docu.model.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeflateTextConverterTest {
+
+    private final DeflateTextConverter converter = new DeflateTextConverter();
+
+    @Test
+    void roundTripsText() {
+        for (String text : new String[] {
+            "",
+            "A",
+            "Plain body text with a few words.",
+            "Naïve café — “quoted” text, 日本語 and emoji 😀",
+            "The quick brown fox jumps over the lazy dog. ".repeat(10_000)
+        }) {
+            assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(text)))
+                    .isEqualTo(text);
+        }
+    }
+
+    @Test
+    void keepsNullAsNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void compressesRepetitiveText() {
+        String text = "The quick brown fox jumps over the lazy dog. ".repeat(1_000);
+
+        assertThat(converter.convertToDatabaseColumn(text).length).isLessThan(text.length() / 10);
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] compressed = converter.convertToDatabaseColumn("Some text that compresses. ".repeat(100));
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(truncated))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
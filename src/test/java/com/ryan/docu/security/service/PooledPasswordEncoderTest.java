@@ -0,0 +1,88 @@
+package com.ryan.docu.security.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PooledPasswordEncoder encoder = new PooledPasswordEncoder(12, 250, 1, 4, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void neverHashesBelowCost12() {
+        PooledPasswordEncoder pinnedTooLow = new PooledPasswordEncoder(4, 250, 1, 4, new SimpleMeterRegistry());
+        PooledPasswordEncoder calibratedTooLow = new PooledPasswordEncoder(0, 1, 1, 4, new SimpleMeterRegistry());
+        try {
+            assertThat(pinnedTooLow.getStrength()).isEqualTo(12);
+            assertThat(calibratedTooLow.getStrength()).isEqualTo(12);
+        } finally {
+            pinnedTooLow.shutdown();
+            calibratedTooLow.shutdown();
+        }
+    }
+
+    @Test
+    void publishesTheCostInUse() {
+        assertThat(meterRegistry.get("docu.security.bcrypt.strength").gauge().value()).isEqualTo(12.0);
+    }
+
+    @Test
+    void reportsHashesWithAnyOtherCostForUpgrade() {
+        String cost4 = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertThat(encoder.upgradeEncoding(cost4)).isTrue();
+        assertThat(encoder.upgradeEncoding(cost4.replace("$04$", "$13$"))).isTrue();
+        assertThat(encoder.upgradeEncoding(cost4.replace("$04$", "$12$"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not a bcrypt hash")).isFalse();
+    }
+
+    @Test
+    void rehashesAPasswordWithAnotherCostOnLogin() {
+        List<String> updated = new ArrayList<>();
+        DaoAuthenticationProvider provider = provider(new BCryptPasswordEncoder(4).encode("secret"), updated);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("ryan", "secret"));
+
+        assertThat(updated).hasSize(1);
+        assertThat(updated.get(0)).startsWith("$2a$12$");
+        assertThat(encoder.matches("secret", updated.get(0))).isTrue();
+    }
+
+    @Test
+    void keepsAPasswordWithTheCurrentCost() {
+        List<String> updated = new ArrayList<>();
+        DaoAuthenticationProvider provider = provider(encoder.encode("secret"), updated);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("ryan", "secret"));
+
+        assertThat(updated).isEmpty();
+    }
+
+    private DaoAuthenticationProvider provider(String storedHash, List<String> updated) {
+        UserDetails user = User.withUsername("ryan").password(storedHash).roles("USER").build();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> user);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService((details, newPassword) -> {
+            updated.add(newPassword);
+            return User.withUserDetails(details).password(newPassword).build();
+        });
+        return provider;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ryan.docu.security.service;
+
+import com.ryan.docu.model.User;
+import com.ryan.docu.security.model.Account;
+import com.ryan.docu.security.model.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserPrincipalCache cache = new UserPrincipalCache(60, 2, meterRegistry);
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return principal(username, username.equals("ryan") ? userId : UUID.randomUUID());
+    };
+
+    @Test
+    void resolvesEachUsernameOnceWhileTheEntryLives() {
+        UserDetails first = cache.get("ryan", loader);
+        UserDetails second = cache.get("ryan", loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("docu.security.principal.cache").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("docu.security.principal.cache").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void resolvesAgainOnceTheEntryExpires() {
+        UserPrincipalCache expiring = new UserPrincipalCache(0, 2, new SimpleMeterRegistry());
+
+        expiring.get("ryan", loader);
+        expiring.get("ryan", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void dropsEntriesOfChangedAccountsAndDeletedUsers() {
+        cache.get("ryan", loader);
+        cache.invalidate("ryan");
+        cache.get("ryan", loader);
+        cache.invalidateUser(userId);
+        cache.get("ryan", loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentlyUsedEntries() {
+        cache.get("ryan", loader);
+        cache.get("alex", loader);
+        cache.get("ryan", loader);
+        cache.get("sam", loader);
+
+        cache.get("ryan", loader);
+        cache.get("alex", loader);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    private static UserPrincipal principal(String username, UUID userId) {
+        User user = new User();
+        user.setUserId(userId);
+        Account account = new Account();
+        account.setUsername(username);
+        account.setUser(user);
+        return new UserPrincipal(account);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ryan.docu.security.tokens;
+
+import com.ryan.docu.security.model.Account;
+import com.ryan.docu.security.model.UserPrincipal;
+import com.ryan.docu.security.service.AccountAuthenticationService;
+import com.ryan.docu.security.service.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtFilterTest {
+
+    private final JwtService jwtService = new JwtService(16);
+    private final AccountAuthenticationService accountService = mock(AccountAuthenticationService.class);
+    private JwtFilter jwtFilter;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationContext context = mock(ApplicationContext.class);
+        when(context.getBean(AccountAuthenticationService.class)).thenReturn(accountService);
+        Account account = new Account();
+        account.setUsername("ryan");
+        when(accountService.loadUserByUsername("ryan")).thenReturn(new UserPrincipal(account));
+        jwtFilter = new JwtFilter(jwtService, context, new UserPrincipalCache(60, 100, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesBearerTokens() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken("ryan"));
+
+        Authentication authentication = filter(request);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("ryan");
+    }
+
+    @Test
+    void authenticatesCookieTokens() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("accessToken", jwtService.generateToken("ryan")));
+
+        assertThat(filter(request)).isNotNull();
+    }
+
+    @Test
+    void looksUpTheAccountOnceForRepeatedRequests() throws ServletException, IOException {
+        String token = jwtService.generateToken("ryan");
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Authorization", "Bearer " + token);
+            assertThat(filter(request)).isNotNull();
+        }
+
+        verify(accountService, times(1)).loadUserByUsername("ryan");
+    }
+
+    @Test
+    void leavesRequestsWithoutATokenUnauthenticated() throws ServletException, IOException {
+        assertThat(filter(new MockHttpServletRequest())).isNull();
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ryan.docu.security.tokens;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService(16);
+
+    @Test
+    void verifiesTheTokensItIssues() {
+        String token = jwtService.generateToken("ryan");
+
+        VerifiedToken verified = jwtService.verifyToken(token);
+
+        assertThat(verified.username()).isEqualTo("ryan");
+        assertThat(verified.isExpired()).isFalse();
+        assertThat(jwtService.validateToken(verified, user("ryan"))).isTrue();
+        assertThat(jwtService.validateToken(verified, user("someone-else"))).isFalse();
+    }
+
+    @Test
+    void parsesARepeatedTokenOnlyOnce() {
+        String token = jwtService.generateToken("ryan");
+
+        VerifiedToken first = jwtService.verifyToken(token);
+        VerifiedToken second = jwtService.verifyToken(token);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void parsesEveryTimeWhenTheCacheIsDisabled() {
+        JwtService uncached = new JwtService(0);
+        String token = uncached.generateToken("ryan");
+
+        VerifiedToken first = uncached.verifyToken(token);
+        VerifiedToken second = uncached.verifyToken(token);
+
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+    }
+
+    @Test
+    void rejectsTamperedTokensAndTokensSignedWithAnotherKey() {
+        String token = jwtService.generateToken("ryan");
+        int signature = token.lastIndexOf('.') + 1;
+        String tampered = token.substring(0, signature) + (token.charAt(signature) == 'A' ? 'B' : 'A')
+                + token.substring(signature + 1);
+        String foreign = new JwtService(16).generateToken("ryan");
+
+        assertThatThrownBy(() -> jwtService.verifyToken(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtService.verifyToken(foreign)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void expiredTokensAreNotValid() {
+        VerifiedToken expired = new VerifiedToken("ryan", new Date(System.currentTimeMillis() - 1000));
+
+        assertThat(expired.isExpired()).isTrue();
+        assertThat(jwtService.validateToken(expired, user("ryan"))).isFalse();
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("unused").roles("USER").build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ryan.docu.service;
+
+import com.ryan.docu.model.dto.DocumentListDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentCursorTest {
+
+    @Test
+    void decodesTheEncodedPosition() {
+        DocumentListDTO last = new DocumentListDTO();
+        last.setDocId(UUID.randomUUID());
+        last.setTitle("Ignored");
+        last.setTimeCreated(Instant.parse("2025-03-14T15:09:26.535897Z"));
+
+        DocumentListDTO position = DocumentCursor.decode(DocumentCursor.encode(last));
+
+        assertThat(position.getDocId()).isEqualTo(last.getDocId());
+        assertThat(position.getTimeCreated()).isEqualTo(last.getTimeCreated());
+        assertThat(position.getTitle()).isNull();
+    }
+
+    @Test
+    void encodesUrlSafely() {
+        DocumentListDTO last = new DocumentListDTO();
+        last.setDocId(UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+        last.setTimeCreated(Instant.parse("2025-01-01T00:00:00Z"));
+
+        assertThat(DocumentCursor.encode(last)).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsInvalidCursors() {
+        for (String cursor : new String[] {
+            "not base64!",
+            encode("no separator"),
+            encode("yesterday|" + UUID.randomUUID()),
+            encode(Instant.now() + "|not-a-uuid"),
+            ""
+        }) {
+            assertThatThrownBy(() -> DocumentCursor.decode(cursor))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
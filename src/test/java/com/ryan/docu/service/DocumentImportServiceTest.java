@@ -0,0 +1,101 @@
+package com.ryan.docu.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryan.docu.mapper.DocumentMapper;
+import com.ryan.docu.model.Document;
+import com.ryan.docu.model.User;
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.dto.DocumentImportResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DocumentImportServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final UUID userId = UUID.randomUUID();
+    private final DocumentMapper documentMapper = mock(DocumentMapper.class);
+    private final UserService userService = mock(UserService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final List<String> persisted = new ArrayList<>();
+    private DocumentImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        when(userService.findEntityById(userId)).thenReturn(new User());
+        when(documentMapper.fromCreateDTO(any())).thenAnswer(invocation -> {
+            Document document = new Document();
+            document.setTitle(invocation.<DocumentCreateDTO>getArgument(0).getTitle());
+            return document;
+        });
+        doAnswer(invocation -> persisted.add(invocation.<Document>getArgument(0).getTitle()))
+                .when(entityManager).persist(any());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        importService = new DocumentImportService(documentMapper, userService, entityManager,
+                transactionTemplate, VALIDATOR, new ObjectMapper(), 2);
+    }
+
+    @Test
+    void skipsAndReportsInvalidLines() throws IOException {
+        DocumentImportResultDTO result = importDocuments(
+                line("First"),
+                "{\"format\":\"MLA\",\"fileType\":\"PDF\"}",
+                "{not json",
+                "",
+                "{\"title\":\"No format\",\"fileType\":\"PDF\"}",
+                line("Second"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(3);
+        assertThat(result.getErrors()).hasSize(3);
+        assertThat(result.getErrors().get(0)).startsWith("line 2: title");
+        assertThat(result.getErrors().get(1)).startsWith("line 3: invalid JSON");
+        assertThat(result.getErrors().get(2)).startsWith("line 5: format");
+        assertThat(persisted).containsExactly("First", "Second");
+    }
+
+    @Test
+    void retriesARejectedBatchRowByRow() throws IOException {
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(entityManager).persist(argThat((Document document) -> "Rejected".equals(document.getTitle())));
+
+        DocumentImportResultDTO result = importDocuments(line("First"), line("Rejected"), line("Third"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly("line 2: rejected by the database");
+        // The first batch was rolled back after "First", then saved again row by row
+        assertThat(persisted).containsExactly("First", "First", "Third");
+    }
+
+    private DocumentImportResultDTO importDocuments(String... lines) throws IOException {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return importService.importDocuments(userId, new ByteArrayInputStream(body));
+    }
+
+    private static String line(String title) {
+        return "{\"title\":\"" + title + "\",\"format\":\"MLA\",\"fileType\":\"PDF\"}";
+    }
+}
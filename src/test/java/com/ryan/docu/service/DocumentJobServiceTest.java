@@ -0,0 +1,144 @@
+package com.ryan.docu.service;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.dto.DocumentDTO;
+import com.ryan.docu.model.dto.DocumentJobDTO;
+import com.ryan.docu.model.enums.FileType;
+import com.ryan.docu.model.enums.Format;
+import com.ryan.docu.model.enums.JobStatus;
+import com.ryan.docu.service.generators.executor.RenderRejectedException;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentJobServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final DocumentService documentService = mock(DocumentService.class);
+    private final List<CompletableFuture<byte[]>> renders = new ArrayList<>();
+    private final List<Runnable> starts = new ArrayList<>();
+
+    DocumentJobServiceTest() {
+        when(documentService.createDocument(eq(userId), any())).thenAnswer(invocation -> {
+            DocumentDTO saved = new DocumentDTO();
+            saved.setDocId(UUID.randomUUID());
+            return saved;
+        });
+        when(documentService.submitRender(any(), any(), any())).thenAnswer(invocation -> {
+            starts.add(invocation.getArgument(2));
+            CompletableFuture<byte[]> render = new CompletableFuture<>();
+            renders.add(render);
+            return render;
+        });
+    }
+
+    @Test
+    void reportsProgressUntilTheResultCanBeDownloaded() {
+        DocumentJobService jobs = jobService(10, 1000);
+        DocumentJobDTO job = jobs.submitGenerateJob(userId, document());
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(jobs.getJobResult(userId, job.getJobId())).isNull();
+
+        starts.get(0).run();
+        assertThat(jobs.getJob(userId, job.getJobId()).getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(jobs.getJobResult(userId, job.getJobId())).isNull();
+
+        renders.get(0).complete(new byte[] {1, 2, 3});
+        DocumentJobDTO completed = jobs.getJob(userId, job.getJobId());
+        assertThat(completed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(completed.getExpiresAt()).isNotNull();
+        assertThat(jobs.getJobResult(userId, job.getJobId()).content()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void reportsTheReasonOfAFailedRender() {
+        DocumentJobService jobs = jobService(10, 1000);
+        DocumentJobDTO job = jobs.submitGenerateJob(userId, document());
+
+        renders.get(0).completeExceptionally(new IOException("font missing"));
+
+        DocumentJobDTO failed = jobs.getJob(userId, job.getJobId());
+        assertThat(failed.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(failed.getFailureReason()).contains("font missing");
+        assertThatThrownBy(() -> jobs.getJobResult(userId, job.getJobId()))
+                .isInstanceOf(DocumentJobFailedException.class)
+                .hasMessageContaining("font missing");
+    }
+
+    @Test
+    void keepsJobsWhoseResultWasDroppedForNewerOnes() {
+        DocumentJobService jobs = jobService(10, 100);
+        DocumentJobDTO first = jobs.submitGenerateJob(userId, document());
+        DocumentJobDTO second = jobs.submitGenerateJob(userId, document());
+
+        renders.get(0).complete(new byte[60]);
+        renders.get(1).complete(new byte[60]);
+
+        assertThat(jobs.getJob(userId, first.getJobId()).getStatus()).isEqualTo(JobStatus.EXPIRED);
+        assertThatThrownBy(() -> jobs.getJobResult(userId, first.getJobId()))
+                .isInstanceOf(DocumentJobExpiredException.class);
+        assertThat(jobs.getJobResult(userId, second.getJobId()).content()).hasSize(60);
+    }
+
+    @Test
+    void rejectsJobsOverTheLimitBeforeSavingTheDocument() {
+        DocumentJobService jobs = jobService(1, 1000);
+        jobs.submitGenerateJob(userId, document());
+
+        assertThatThrownBy(() -> jobs.submitGenerateJob(userId, document()))
+                .isInstanceOf(RenderRejectedException.class);
+        verify(documentService, times(1)).createDocument(eq(userId), any());
+    }
+
+    @Test
+    void failsTheJobWhenTheRenderQueueIsFull() {
+        when(documentService.submitRender(any(), any(), any()))
+                .thenThrow(new RenderRejectedException("Render queue is full, try again later", 5));
+        DocumentJobService jobs = jobService(10, 1000);
+
+        DocumentJobDTO job = jobs.submitGenerateJob(userId, document());
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(job.getDocId()).isNotNull();
+        assertThatThrownBy(() -> jobs.getJobResult(userId, job.getJobId()))
+                .isInstanceOf(DocumentJobFailedException.class);
+    }
+
+    @Test
+    void hidesJobsOfOtherUsers() {
+        DocumentJobService jobs = jobService(10, 1000);
+        DocumentJobDTO job = jobs.submitGenerateJob(userId, document());
+
+        assertThatThrownBy(() -> jobs.getJob(UUID.randomUUID(), job.getJobId()))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> jobs.getJobResult(UUID.randomUUID(), job.getJobId()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private DocumentJobService jobService(int maxJobs, long maxResultBytes) {
+        return new DocumentJobService(documentService, 600, maxJobs, maxResultBytes, 5);
+    }
+
+    private static DocumentCreateDTO document() {
+        DocumentCreateDTO document = new DocumentCreateDTO();
+        document.setTitle("Job");
+        document.setFormat(Format.APA);
+        document.setFileType(FileType.PDF);
+        return document;
+    }
+}
@@ -0,0 +1,325 @@
+package com.ryan.docu.service;
+
+import com.ryan.docu.mapper.DocumentMapper;
+import com.ryan.docu.model.Document;
+import com.ryan.docu.model.User;
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.dto.DocumentVersionDTO;
+import com.ryan.docu.model.enums.FileType;
+import com.ryan.docu.model.enums.Format;
+import com.ryan.docu.repo.DocumentRepo;
+import com.ryan.docu.security.model.Account;
+import com.ryan.docu.service.generators.PdfCompression;
+import com.ryan.docu.service.generators.PdfGeneratorService;
+import com.ryan.docu.service.generators.cache.RenderCache;
+import com.ryan.docu.service.generators.cache.RenderStore;
+import com.ryan.docu.service.generators.docx.DocxGeneratorService;
+import com.ryan.docu.service.generators.executor.RenderExecutor;
+import com.ryan.docu.util.AuthenticationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentServiceTest {
+
+    private static final byte[] PDF = "%PDF-1.7 rendered document".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path storeDirectory;
+
+    private final DocumentRepo documentRepo = mock(DocumentRepo.class);
+    private final PdfGeneratorService pdfGeneratorService = mock(PdfGeneratorService.class);
+    private final AuthenticationUtil authUtil = mock(AuthenticationUtil.class);
+    private final UserService userService = mock(UserService.class);
+    private final DocumentMapper documentMapper = mock(DocumentMapper.class);
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final UUID userId = UUID.randomUUID();
+    private final RenderCache renderCache = new RenderCache(1024 * 1024);
+    private final RenderExecutor renderExecutor = new RenderExecutor(2, 4, 1, new SimpleMeterRegistry());
+    private final AtomicReference<String> renderThread = new AtomicReference<>();
+
+    @AfterEach
+    void shutDown() {
+        renderExecutor.shutdown();
+    }
+
+    @Test
+    void streamsRendersThroughTheStoreAndCopiesThemOnTheCallingThread() throws IOException {
+        DocumentService service = documentService(1024 * 1024);
+        DocumentCreateDTO document = document();
+        givenRenderedPdf();
+        ThreadRecordingStream response = new ThreadRecordingStream();
+
+        service.writeDocument(UUID.randomUUID(), document, response);
+
+        assertThat(response.toByteArray()).isEqualTo(PDF);
+        assertThat(renderThread.get()).startsWith("docu-render-");
+        assertThat(response.writingThreads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void servesLaterStreamsFromTheStore() throws IOException {
+        DocumentService service = documentService(1024 * 1024);
+        DocumentCreateDTO document = document();
+        UUID docId = UUID.randomUUID();
+        givenRenderedPdf();
+
+        service.writeDocument(docId, document, new ByteArrayOutputStream());
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        service.writeDocument(docId, document, second);
+
+        assertThat(second.toByteArray()).isEqualTo(PDF);
+        verify(pdfGeneratorService, times(1)).writePDF(any(), any());
+    }
+
+    @Test
+    void rendersStraightIntoTheStreamWhenTheStoreCannotKeepTheRender() throws IOException {
+        DocumentService service = documentService(PDF.length - 1);
+        givenRenderedPdf();
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        service.writeDocument(UUID.randomUUID(), document(), response);
+
+        assertThat(response.toByteArray()).isEqualTo(PDF);
+        verify(pdfGeneratorService, times(2)).writePDF(any(), any());
+    }
+
+    @Test
+    void renderETagChangesWithTheDocumentVersion() {
+        DocumentService service = documentService(1024, false);
+        UUID docId = UUID.randomUUID();
+
+        givenVersion(docId, 3L, userId, FileType.PDF);
+        String first = service.getRenderETag(userId, docId);
+        String unchanged = service.getRenderETag(userId, docId);
+        givenVersion(docId, 4L, userId, FileType.PDF);
+        String edited = service.getRenderETag(userId, docId);
+
+        assertThat(unchanged).isEqualTo(first);
+        assertThat(edited).isNotEqualTo(first);
+    }
+
+    @Test
+    void renderETagCarriesTheRenderFormatAndCompressionMode() {
+        UUID docId = UUID.randomUUID();
+        givenVersion(docId, 1L, userId, FileType.PDF);
+
+        String standard = documentService(1024, false).getRenderETag(userId, docId);
+        String compact = documentService(1024, true).getRenderETag(userId, docId);
+
+        assertThat(standard).isEqualTo("\"" + docId + "-1-PDF-r" + RenderStore.FORMAT_VERSION + "\"");
+        assertThat(compact).isEqualTo("\"" + docId + "-1-PDF-r" + RenderStore.FORMAT_VERSION + "-compact\"");
+
+        givenVersion(docId, 1L, userId, FileType.DOCX);
+        assertThat(documentService(1024, true).getRenderETag(userId, docId)).doesNotContain("compact");
+    }
+
+    @Test
+    void documentETagIsOnlyGivenForTheAuthenticatedUsersDocuments() {
+        DocumentService service = documentService(1024, false);
+        UUID docId = UUID.randomUUID();
+        givenAuthenticatedUser();
+
+        givenVersion(docId, 2L, userId, FileType.PDF);
+        assertThat(service.getDocumentETag(docId)).isEqualTo("\"" + docId + "-2\"");
+
+        givenVersion(docId, 2L, UUID.randomUUID(), FileType.PDF);
+        assertThatThrownBy(() -> service.getDocumentETag(docId)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void refusesToReturnAnotherUsersDocument() {
+        DocumentService service = documentService(1024, false);
+        UUID docId = UUID.randomUUID();
+        givenAuthenticatedUser();
+        User owner = new User();
+        owner.setUserId(UUID.randomUUID());
+        Document document = new Document();
+        document.setRelatedUser(owner);
+        when(documentRepo.findById(docId)).thenReturn(Optional.of(document));
+
+        assertThatThrownBy(() -> service.getDocument(docId)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void generatesOutsideTransactionsAndSavesInAShortOneOfItsOwn() throws IOException {
+        DocumentService service = documentService(1024 * 1024);
+        DocumentCreateDTO document = document();
+        UUID docId = UUID.randomUUID();
+        List<String> calls = new ArrayList<>();
+        when(userService.findEntityById(userId)).thenAnswer(invocation -> {
+            calls.add("find user, transaction " + transactionManager.active);
+            return new User();
+        });
+        when(pdfGeneratorService.generatePDF(any())).thenAnswer(invocation -> {
+            calls.add("render, transaction " + transactionManager.active);
+            return PDF;
+        });
+        when(documentMapper.fromCreateDTO(document)).thenReturn(new Document());
+        when(documentRepo.save(any())).thenAnswer(invocation -> {
+            calls.add("save, transaction " + transactionManager.active);
+            Document saved = invocation.getArgument(0);
+            saved.setDocId(docId);
+            return saved;
+        });
+
+        byte[] generated = service.generateDocument(userId, document);
+
+        assertThat(generated).isEqualTo(PDF);
+        assertThat(calls).containsExactly(
+                "find user, transaction 1",
+                "render, transaction null",
+                "find user, transaction 2",
+                "save, transaction 2");
+    }
+
+    @Test
+    void deletesTheAuthenticatedUsersDocumentAndDropsItsRenders() throws IOException {
+        DocumentService service = documentService(1024 * 1024);
+        DocumentCreateDTO document = document();
+        UUID docId = UUID.randomUUID();
+        givenRenderedPdf();
+        givenAuthenticatedUser();
+        service.writeDocument(docId, document, new ByteArrayOutputStream());
+        when(documentRepo.deleteOwnedDocument(docId, userId)).thenReturn(1);
+
+        service.deleteDocument(docId);
+        service.writeDocument(docId, document, new ByteArrayOutputStream());
+
+        verify(pdfGeneratorService, times(2)).writePDF(any(), any());
+    }
+
+    @Test
+    void refusesToDeleteADocumentTheUserDoesNotOwn() {
+        DocumentService service = documentService(1024);
+        UUID docId = UUID.randomUUID();
+        givenAuthenticatedUser();
+        when(documentRepo.deleteOwnedDocument(docId, userId)).thenReturn(0);
+
+        assertThatThrownBy(() -> service.deleteDocument(docId)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private DocumentService documentService(long storeBytes) {
+        return documentService(storeBytes, false);
+    }
+
+    private DocumentService documentService(long storeBytes, boolean compact) {
+        return new DocumentService(
+                documentRepo,
+                documentMapper,
+                userService,
+                pdfGeneratorService,
+                mock(DocxGeneratorService.class),
+                renderCache,
+                new RenderStore(storeDirectory.toString(), storeBytes, compact),
+                renderExecutor,
+                new SimpleMeterRegistry(),
+                new TransactionTemplate(transactionManager),
+                authUtil,
+                new PdfCompression(compact, 1000, 0, new SimpleMeterRegistry()));
+    }
+
+    private void givenVersion(UUID docId, Long version, UUID ownerId, FileType fileType) {
+        when(documentRepo.findVersionById(docId))
+                .thenReturn(Optional.of(new DocumentVersionDTO(docId, version, ownerId, "October 18, 2026", fileType)));
+    }
+
+    private void givenAuthenticatedUser() {
+        User user = new User();
+        user.setUserId(userId);
+        Account account = new Account();
+        account.setUser(user);
+        when(authUtil.getAuthenticatedAccount()).thenReturn(account);
+    }
+
+    private void givenRenderedPdf() throws IOException {
+        doAnswer(invocation -> {
+                    renderThread.set(Thread.currentThread().getName());
+                    invocation.getArgument(1, OutputStream.class).write(PDF);
+                    return null;
+                })
+                .when(pdfGeneratorService)
+                .writePDF(any(), any());
+    }
+
+    private static DocumentCreateDTO document() {
+        DocumentCreateDTO document = new DocumentCreateDTO();
+        document.setTitle("Streaming");
+        document.setBodyText("Body text");
+        document.setFormat(Format.MLA);
+        document.setFileType(FileType.PDF);
+        return document;
+    }
+
+    /**
+     * Records which threads wrote to the stream.
+     */
+    private static class ThreadRecordingStream extends ByteArrayOutputStream {
+        private final Set<String> writingThreads = new HashSet<>();
+
+        @Override
+        public synchronized void write(int b) {
+            writingThreads.add(Thread.currentThread().getName());
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writingThreads.add(Thread.currentThread().getName());
+            super.write(b, off, len);
+        }
+    }
+
+    /**
+     * Numbers the transactions it starts and records which one is active.
+     */
+    private static class RecordingTransactionManager implements PlatformTransactionManager {
+        private int started;
+        private Integer active;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            active = ++started;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            active = null;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            active = null;
+        }
+    }
+}
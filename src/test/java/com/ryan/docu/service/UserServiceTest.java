@@ -0,0 +1,85 @@
+package com.ryan.docu.service;
+
+import com.ryan.docu.mapper.UserMapper;
+import com.ryan.docu.repo.DocumentRepo;
+import com.ryan.docu.repo.UserRepo;
+import com.ryan.docu.security.repo.AccountRepo;
+import com.ryan.docu.security.service.UserPrincipalCache;
+import com.ryan.docu.service.generators.cache.RenderCache;
+import com.ryan.docu.service.generators.cache.RenderStore;
+import com.ryan.docu.util.AuthenticationUtil;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UserRepo userRepo = mock(UserRepo.class);
+    private final AccountRepo accountRepo = mock(AccountRepo.class);
+    private final DocumentRepo documentRepo = mock(DocumentRepo.class);
+    private final RenderCache renderCache = mock(RenderCache.class);
+    private final RenderStore renderStore = mock(RenderStore.class);
+    private final UserPrincipalCache principalCache = mock(UserPrincipalCache.class);
+    private final AuthenticationUtil authUtil = mock(AuthenticationUtil.class);
+    private final UserService userService = new UserService(
+            userRepo,
+            accountRepo,
+            documentRepo,
+            mock(UserMapper.class),
+            renderCache,
+            renderStore,
+            principalCache,
+            authUtil);
+
+    @Test
+    void deletesDocumentsThenTheAccountThenTheUser() {
+        UUID firstDoc = UUID.randomUUID();
+        UUID secondDoc = UUID.randomUUID();
+        when(authUtil.isUserUnauthorized(userId)).thenReturn(false);
+        when(documentRepo.findIdsByUserId(userId)).thenReturn(List.of(firstDoc, secondDoc));
+
+        userService.deleteUser(userId);
+
+        InOrder order = inOrder(documentRepo, accountRepo, userRepo, principalCache);
+        order.verify(documentRepo).findIdsByUserId(userId);
+        order.verify(documentRepo).deleteAllByUserId(userId);
+        order.verify(accountRepo).deleteByUserId(userId);
+        order.verify(userRepo).deleteByUserId(userId);
+        order.verify(principalCache).invalidateUser(userId);
+    }
+
+    @Test
+    void dropsTheRendersOfTheDeletedDocuments() {
+        UUID firstDoc = UUID.randomUUID();
+        UUID secondDoc = UUID.randomUUID();
+        when(authUtil.isUserUnauthorized(userId)).thenReturn(false);
+        when(documentRepo.findIdsByUserId(userId)).thenReturn(List.of(firstDoc, secondDoc));
+
+        userService.deleteUser(userId);
+
+        verify(renderCache).invalidate(firstDoc);
+        verify(renderCache).invalidate(secondDoc);
+        verify(renderStore).invalidate(firstDoc);
+        verify(renderStore).invalidate(secondDoc);
+    }
+
+    @Test
+    void refusesToDeleteAnotherUser() {
+        when(authUtil.isUserUnauthorized(userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.deleteUser(userId)).isInstanceOf(EntityNotFoundException.class);
+
+        verifyNoInteractions(documentRepo, accountRepo, userRepo, renderCache, renderStore, principalCache);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ryan.docu.service.generators;
+
+import com.ryan.docu.model.dto.DocumentCreateDTO;
+import com.ryan.docu.model.enums.FileType;
+import com.ryan.docu.model.enums.Format;
+import com.ryan.docu.service.generators.cache.HeaderTemplateCache;
+import com.ryan.docu.service.generators.cache.PageFragmentCache;
+import com.ryan.docu.service.generators.cache.ParagraphLayoutCache;
+import com.ryan.docu.service.generators.executor.RenderMemoryBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfGeneratorServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PdfGeneratorService pdfGeneratorService = new PdfGeneratorService(
+            new ParagraphLayoutCache(1000),
+            new PageFragmentCache(1024 * 1024),
+            new HeaderTemplateCache(100),
+            new PdfCompression(false, 1000, 0, meterRegistry),
+            new RenderMemoryBudget(8 * 1024 * 1024, 64 * 1024 * 1024, "", meterRegistry),
+            meterRegistry);
+
+    @Test
+    void writesAMultiPageDocumentStraightIntoTheStream() throws IOException {
+        ClosingAwareStream stream = new ClosingAwareStream();
+
+        pdfGeneratorService.writePDF(document(), stream);
+
+        assertThat(stream.closed).isFalse();
+        try (PDDocument pdf = Loader.loadPDF(stream.toByteArray())) {
+            assertThat(pdf.getNumberOfPages()).isGreaterThan(1);
+            assertThat(new PDFTextStripper().getText(pdf)).contains("Streaming Large Documents");
+        }
+    }
+
+    @Test
+    void streamedAndBufferedRendersHaveTheSamePages() throws IOException {
+        DocumentCreateDTO document = document();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        pdfGeneratorService.writePDF(document, stream);
+        byte[] buffered = pdfGeneratorService.generatePDF(document);
+
+        try (PDDocument streamed = Loader.loadPDF(stream.toByteArray());
+                PDDocument generated = Loader.loadPDF(buffered)) {
+            assertThat(streamed.getNumberOfPages()).isEqualTo(generated.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            assertThat(stripper.getText(streamed)).isEqualTo(stripper.getText(generated));
+        }
+    }
+
+    private static DocumentCreateDTO document() {
+        DocumentCreateDTO document = new DocumentCreateDTO();
+        document.setTitle("Streaming Large Documents");
+        document.setName("Ryan");
+        document.setProfessorName("Professor Smith");
+        document.setClassTitle("English 101");
+        document.setDate("October 18, 2026");
+        document.setBodyText(("A paragraph long enough to wrap across several lines of the page. ".repeat(12) + "\n")
+                .repeat(20));
+        document.setFormat(Format.MLA);
+        document.setFileType(FileType.PDF);
+        return document;
+    }
+
+    /**
+     * Records whether the generator closed the stream, which belongs to the caller.
+     */
+    private static class ClosingAwareStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
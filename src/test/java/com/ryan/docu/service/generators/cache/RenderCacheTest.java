@@ -0,0 +1,64 @@
+package com.ryan.docu.service.generators.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedOnceOverBudget() {
+        RenderCache cache = new RenderCache(100);
+        cache.put(UUID.randomUUID(), "a", new byte[40]);
+        cache.put(UUID.randomUUID(), "b", new byte[40]);
+        cache.get("a");
+        cache.put(UUID.randomUUID(), "c", new byte[40]);
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+    }
+
+    @Test
+    void skipsRendersLargerThanTheBudget() {
+        RenderCache cache = new RenderCache(100);
+        cache.put(UUID.randomUUID(), "a", new byte[101]);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.trackedDocuments()).isZero();
+    }
+
+    @Test
+    void forgetsDocumentsOfEvictedEntries() {
+        RenderCache cache = new RenderCache(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put(UUID.randomUUID(), "key" + i, new byte[40]);
+        }
+
+        assertThat(cache.trackedDocuments()).isEqualTo(2);
+    }
+
+    @Test
+    void replacesTheEntryOfAnEditedDocument() {
+        RenderCache cache = new RenderCache(100);
+        UUID docId = UUID.randomUUID();
+        cache.put(docId, "before", new byte[10]);
+        cache.put(docId, "after", new byte[10]);
+
+        assertThat(cache.get("before")).isNull();
+        assertThat(cache.get("after")).isNotNull();
+    }
+
+    @Test
+    void invalidateDropsTheDocumentsEntry() {
+        RenderCache cache = new RenderCache(100);
+        UUID docId = UUID.randomUUID();
+        cache.put(docId, "a", new byte[10]);
+        cache.invalidate(docId);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.trackedDocuments()).isZero();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ryan.docu.service.generators.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderStoreTest {
+
+    private static final String KEY_A = "a".repeat(64);
+    private static final String KEY_B = "b".repeat(64);
+    private static final String KEY_C = "c".repeat(64);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsCompactAndStandardRendersApart() {
+        new RenderStore(directory.toString(), 100, false).put(UUID.randomUUID(), KEY_A, new byte[10]);
+
+        assertThat(new RenderStore(directory.toString(), 100, true).get(KEY_A)).isNull();
+        assertThat(new RenderStore(directory.toString(), 100, false).get(KEY_A)).isNotNull();
+    }
+
+    @Test
+    void evictsOldestFilesOverBudgetAtStartup() throws IOException {
+        RenderStore store = new RenderStore(directory.toString(), 100, false);
+        store.put(UUID.randomUUID(), KEY_A, new byte[40]);
+        store.put(UUID.randomUUID(), KEY_B, new byte[40]);
+        store.put(UUID.randomUUID(), KEY_C, new byte[40]);
+        Path fileA = store.get(KEY_A);
+        Path fileC = store.get(KEY_C);
+        assertThat(fileA).isNull(); // evicted by the third put
+        Files.setLastModifiedTime(fileC, FileTime.fromMillis(0));
+
+        RenderStore reopened = new RenderStore(directory.toString(), 50, false);
+
+        assertThat(reopened.get(KEY_C)).isNull();
+        assertThat(Files.exists(fileC)).isFalse();
+        assertThat(reopened.get(KEY_B)).isNotNull();
+    }
+
+    @Test
+    void deletesFilesNoLongerUsedByAnyDocument() {
+        RenderStore store = new RenderStore(directory.toString(), 100, false);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        store.put(first, KEY_A, new byte[10]);
+        store.put(second, KEY_A, new byte[10]);
+        Path file = store.get(KEY_A);
+
+        store.invalidate(first);
+        assertThat(store.get(KEY_A)).isNotNull();
+
+        store.invalidate(second);
+        assertThat(store.get(KEY_A)).isNull();
+        assertThat(Files.exists(file)).isFalse();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ryan.docu.service.generators.fonts;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.within;
+
+class FontMetricsTest {
+
+    @Test
+    void matchesPdfBoxForPrintableAscii() throws IOException {
+        for (FontMetrics metrics : new FontMetrics[] {FontMetrics.TIMES_ROMAN, FontMetrics.TIMES_BOLD}) {
+            for (char c = 32; c < 127; c++) {
+                String text = String.valueOf(c);
+                assertThat(metrics.getStringWidth(text, 0, 1))
+                        .as("width of '%s' in %s", text, metrics.getFont().getName())
+                        .isEqualTo(metrics.getFont().getStringWidth(text), within(0.001f));
+            }
+        }
+    }
+
+    @Test
+    void sumsWidthsOfARange() throws IOException {
+        FontMetrics metrics = FontMetrics.TIMES_ROMAN;
+        String text = "The quick brown fox, jumps over the lazy dog!";
+
+        assertThat(metrics.getWidth(text, 12))
+                .isEqualTo(metrics.getFont().getStringWidth(text) / 1000 * 12, within(0.01f));
+        assertThat(metrics.getStringWidth(text, 4, 9))
+                .isEqualTo(metrics.getFont().getStringWidth("quick"), within(0.001f));
+    }
+
+    @Test
+    void matchesPdfBoxForNonAsciiWinAnsiCharacters() throws IOException {
+        FontMetrics metrics = FontMetrics.TIMES_ROMAN;
+        String text = "café — naïve";
+
+        assertThat(metrics.getStringWidth(text, 0, text.length()))
+                .isEqualTo(metrics.getFont().getStringWidth(text), within(0.001f));
+    }
+
+    @Test
+    void fallsBackToPdfBoxOutsideTheTable() {
+        FontMetrics metrics = FontMetrics.TIMES_ROMAN;
+        // U+0100 lies inside the table's range but has no glyph, U+4E2D lies past the end of the table.
+        // Only PDFBox rejects them, so getting its exception back shows the fallback ran.
+        for (String character : new String[] {"\u0100", "\u4E2D"}) {
+            Throwable expected = catchThrowable(() -> metrics.getFont().getStringWidth(character));
+            assertThat(expected).isNotNull();
+
+            String text = "a" + character;
+            assertThatThrownBy(() -> metrics.getStringWidth(text, 0, text.length()))
+                    .isInstanceOf(expected.getClass())
+                    .hasMessage(expected.getMessage());
+        }
+    }
+
+    @Test
+    void findsMetricsForFont() {
+        assertThat(FontMetrics.forFont(FontMetrics.TIMES_ROMAN.getFont())).isSameAs(FontMetrics.TIMES_ROMAN);
+        assertThat(FontMetrics.forFont(FontMetrics.TIMES_BOLD.getFont())).isSameAs(FontMetrics.TIMES_BOLD);
+    }
+}
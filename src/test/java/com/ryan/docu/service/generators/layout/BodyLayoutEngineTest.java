@@ -0,0 +1,88 @@
+package com.ryan.docu.service.generators.layout;
+
+import com.ryan.docu.service.generators.cache.ParagraphLayoutCache;
+import com.ryan.docu.service.generators.fonts.FontMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodyLayoutEngineTest {
+
+    private static final float MARGIN = 72;
+    private static final float DOUBLE_SPACE = 24;
+    private static final float PARAGRAPH_INDENT = 36;
+    private static final float PAGE_WIDTH = 612;
+    private static final float PAGE_HEIGHT = 792;
+    private static final float BOTTOM_LIMIT = MARGIN + DOUBLE_SPACE * 3;
+    private static final float CONTINUATION_OFFSET = DOUBLE_SPACE * 2;
+
+    private static final String PARAGRAPH = "The quick brown fox jumps over the lazy dog, and then keeps running "
+            + "for a good while longer so that this paragraph wraps over several lines of the page body.";
+
+    private final TextWrapper wrapper = new TextWrapper(FontMetrics.TIMES_ROMAN, 12, PARAGRAPH_INDENT);
+    private final BodyLayoutEngine engine = new BodyLayoutEngine(
+            wrapper,
+            new ParagraphLayoutCache(100),
+            MARGIN,
+            DOUBLE_SPACE,
+            PARAGRAPH_INDENT,
+            BOTTOM_LIMIT,
+            CONTINUATION_OFFSET);
+
+    @Test
+    void placesWrappedLinesInOrder() throws IOException {
+        float startY = 500;
+        BodyLayout layout = engine.layout(List.of(PARAGRAPH, PARAGRAPH), startY, PAGE_WIDTH, PAGE_HEIGHT, true);
+
+        List<String> expected = new ArrayList<>(wrapper.wrap(PARAGRAPH, PAGE_WIDTH - 2 * MARGIN, true));
+        int paragraphLines = expected.size();
+        expected.addAll(expected);
+
+        assertThat(layout.pages()).hasSize(1);
+        List<LayoutLine> lines = layout.pages().get(0).lines();
+        assertThat(lines).extracting(LayoutLine::text).isEqualTo(expected);
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i).y()).isEqualTo(startY - DOUBLE_SPACE * (i + 1));
+            float indent = i % paragraphLines == 0 ? PARAGRAPH_INDENT : 0;
+            assertThat(lines.get(i).x()).isEqualTo(MARGIN + indent);
+        }
+        assertThat(layout.finalY()).isEqualTo(startY - DOUBLE_SPACE * (lines.size() + 1));
+    }
+
+    @Test
+    void splitsParagraphsAcrossPagesLineByLine() throws IOException {
+        List<String> paragraphs = Collections.nCopies(20, PARAGRAPH);
+        BodyLayout layout = engine.layout(paragraphs, 600, PAGE_WIDTH, PAGE_HEIGHT, true);
+
+        List<String> expected = new ArrayList<>();
+        for (String paragraph : paragraphs) {
+            expected.addAll(wrapper.wrap(paragraph, PAGE_WIDTH - 2 * MARGIN, true));
+        }
+        List<String> actual = new ArrayList<>();
+        for (LayoutPage page : layout.pages()) {
+            page.lines().forEach(line -> actual.add(line.text()));
+        }
+        assertThat(actual).isEqualTo(expected);
+        assertThat(layout.pages().size()).isGreaterThan(1);
+
+        for (int p = 0; p < layout.pages().size(); p++) {
+            List<LayoutLine> lines = layout.pages().get(p).lines();
+            for (LayoutLine line : lines) {
+                assertThat(line.y()).isGreaterThanOrEqualTo(BOTTOM_LIMIT);
+            }
+            if (p > 0) {
+                assertThat(lines.get(0).y()).isEqualTo(PAGE_HEIGHT - MARGIN - CONTINUATION_OFFSET);
+            }
+            if (p < layout.pages().size() - 1) {
+                // A page only ends when the next line would cross the bottom limit
+                float lastY = lines.get(lines.size() - 1).y();
+                assertThat(lastY - DOUBLE_SPACE - DOUBLE_SPACE).isLessThan(BOTTOM_LIMIT);
+            }
+        }
+    }
+}
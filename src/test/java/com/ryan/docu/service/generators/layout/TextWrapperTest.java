@@ -0,0 +1,88 @@
+package com.ryan.docu.service.generators.layout;
+
+import com.ryan.docu.service.generators.fonts.FontMetrics;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextWrapperTest {
+
+    private static final float FONT_SIZE = 12;
+    private static final float PARAGRAPH_INDENT = 36;
+    private static final float MAX_WIDTH = 612 - 2 * 72;
+
+    private static final List<String> PARAGRAPHS = List.of(
+            "Short paragraph.",
+            "The quick brown fox jumps over the lazy dog, and then keeps running for a good while longer until "
+                    + "the line has to wrap at least once or twice before the paragraph finally comes to an end.",
+            "Supercalifragilisticexpialidociousandthensomemorelettersuntilthiswordiswiderthanawholelineoftext "
+                    + "follows a word that is wider than the line.",
+            "Punctuation, numbers 1234567890 and (brackets) [more] {braces}; quotes \"like this\" and 'that' - all of "
+                    + "them have to measure the same as PDFBox measures them for the breaks to match.");
+
+    private final TextWrapper wrapper = new TextWrapper(FontMetrics.TIMES_ROMAN, FONT_SIZE, PARAGRAPH_INDENT);
+
+    @Test
+    void breaksLinesLikeTheOriginalWrapper() throws IOException {
+        for (String paragraph : PARAGRAPHS) {
+            for (boolean hasIndent : new boolean[] {true, false}) {
+                for (float maxWidth : new float[] {MAX_WIDTH, 200, 80}) {
+                    assertThat(wrapper.wrap(paragraph, maxWidth, hasIndent))
+                            .as("%s at %s, indent %s", paragraph, maxWidth, hasIndent)
+                            .isEqualTo(baselineWrap(paragraph, maxWidth, hasIndent));
+                }
+            }
+        }
+    }
+
+    @Test
+    void collapsesWhitespaceRuns() throws IOException {
+        assertThat(wrapper.wrap("one   two\tthree\n four", MAX_WIDTH, false))
+                .containsExactly("one two three four");
+    }
+
+    @Test
+    void keepsAnOverlongWordOnItsOwnLine() throws IOException {
+        assertThat(wrapper.wrap("a Supercalifragilisticexpialidocious b", 50, false))
+                .containsExactly("a", "Supercalifragilisticexpialidocious", "b");
+    }
+
+    /**
+     * The wrapping PdfGeneratorService did before the glyph-width tables, measuring every candidate line with PDFBox.
+     */
+    private static List<String> baselineWrap(String text, float maxWidth, boolean hasIndent) throws IOException {
+        PDType1Font font = FontMetrics.TIMES_ROMAN.getFont();
+        List<String> lines = new ArrayList<>();
+        String[] words = text.split("\\s+");
+        StringBuilder currentLine = new StringBuilder();
+        boolean isFirstLine = true;
+
+        for (String word : words) {
+            String testLine = currentLine.isEmpty() ? word : currentLine + " " + word;
+            float effectiveMaxWidth = (isFirstLine && hasIndent) ? maxWidth - PARAGRAPH_INDENT : maxWidth;
+            float textWidth = font.getStringWidth(testLine) / 1000 * FONT_SIZE;
+
+            if (textWidth <= effectiveMaxWidth) {
+                currentLine.append(currentLine.isEmpty() ? word : " " + word);
+            } else {
+                if (!currentLine.isEmpty()) {
+                    lines.add(currentLine.toString());
+                    currentLine = new StringBuilder(word);
+                } else {
+                    lines.add(word);
+                }
+                isFirstLine = false;
+            }
+        }
+
+        if (!currentLine.isEmpty()) {
+            lines.add(currentLine.toString());
+        }
+        return lines;
+    }
+}